@@ -0,0 +1,148 @@
+package com.sneakerhead.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the application to answer a burst of concurrent task reads, with requests served
+ * by Tomcat's platform thread pool or by virtual threads. Each burst mixes "my tasks" and
+ * single-task lookups. The application runs in its own JVM with its in-memory database,
+ * started from the classpath in {@code benchmark.app.classpath} (set by the Gradle jmh task).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskEndpointConcurrencyBenchmark {
+
+    private static final int TASKS = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"1000"})
+    private int concurrency;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Process application;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        application = new ProcessBuilder(java, "-Dspring.devtools.restart.enabled=false",
+                "-cp", System.getProperty("benchmark.app.classpath"),
+                BackendApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.main.banner-mode=off",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.sneakerhead.backend=WARN",
+                "--logging.level.org.springframework.security=WARN")
+                .inheritIO()
+                .start();
+        baseUrl = "http://localhost:" + port + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        awaitStartup();
+
+        JsonNode auth = post("/auth/register",
+                "{\"username\":\"bench\",\"email\":\"bench@example.com\",\"password\":\"benchmark\",\"fullName\":\"Bench\"}");
+        authorization = "Bearer " + auth.get("token").asText();
+        long userId = auth.get("user").get("id").asLong();
+        long teamId = post("/teams", "{\"name\":\"Bench\"}").get("id").asLong();
+        long projectId = post("/projects", "{\"name\":\"Bench\",\"teamId\":" + teamId + "}").get("id").asLong();
+        for (int i = 0; i < TASKS; i++) {
+            post("/tasks", "{\"title\":\"Task " + i + "\",\"projectId\":" + projectId + ",\"assigneeId\":" + userId
+                    + ",\"status\":\"OPEN\",\"priority\":\"MEDIUM\"}");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws InterruptedException {
+        application.destroy();
+        application.waitFor();
+    }
+
+    @Benchmark
+    public int concurrentTaskReads() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            String path = i % 2 == 0 ? "/tasks/my-tasks" : "/tasks/" + (i % TASKS + 1);
+            responses.add(client.sendAsync(get(path), HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        return ok;
+    }
+
+    private void awaitStartup() throws IOException, InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login")).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("The application exited with status " + application.exitValue());
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException ex) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("The application did not start within 3 minutes");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private JsonNode post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
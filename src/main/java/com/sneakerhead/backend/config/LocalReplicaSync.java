@@ -0,0 +1,78 @@
+package com.sneakerhead.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stands in for replication between two local H2 databases ({@code datasource.replica.local-sync.enabled}).
+ * Every {@code datasource.replica.local-sync.interval} the primary's rows are copied to the
+ * replica in one transaction, so the replica trails the primary by up to that interval, which
+ * the {@link ReplicaLagMonitor} heartbeat measures like a real replica's lag. The schema is
+ * copied whenever the primary's set of tables changes.
+ * <p>
+ * For local runs and tests only: each copy reads every table. It writes through a connection of
+ * its own, since the replica pool's connections are read-only.
+ */
+@Slf4j
+public class LocalReplicaSync {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final TransactionTemplate replicaTransaction;
+    private Set<String> copiedTables = Set.of();
+
+    public LocalReplicaSync(DataSource primary, DataSource replica) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replica));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.local-sync.interval:2000}")
+    public synchronized void sync() {
+        try {
+            Set<String> tables = new HashSet<>(primary.queryForList(
+                    "SELECT table_name FROM information_schema.tables WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'",
+                    String.class));
+            if (!tables.equals(copiedTables)) {
+                copySchema();
+                copiedTables = tables;
+            }
+            replicaTransaction.executeWithoutResult(status -> tables.forEach(this::copyRows));
+        } catch (DataAccessException ex) {
+            log.warn("Local replica sync failed: {}", ex.getMessage());
+        }
+    }
+
+    private void copySchema() {
+        List<String> script = primary.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        // Without foreign keys, so rows can be copied table by table; the replica is never written otherwise
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER") && !statement.contains(" FOREIGN KEY("))
+                .forEach(replica::execute);
+    }
+
+    private void copyRows(String table) {
+        List<Map<String, Object>> rows = primary.queryForList("SELECT * FROM \"" + table + "\"");
+        replica.update("DELETE FROM \"" + table + "\"");
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = List.copyOf(rows.get(0).keySet());
+        String sql = "INSERT INTO \"" + table + "\" (" + String.join(", ", columns.stream().map(c -> "\"" + c + "\"").toList())
+                + ") VALUES (" + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+        replica.batchUpdate(sql, rows.stream()
+                .map(row -> columns.stream().map(row::get).toArray())
+                .toList());
+    }
+}
@@ -0,0 +1,70 @@
+package com.sneakerhead.backend.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state of read routing. Work that fills a cache or prunes an index must not act
+ * on a replica that has not caught up with a commit yet, since whatever it stores outlives
+ * the lag: it either runs {@link #onPrimary(Supplier) on the primary} or checks
+ * {@link #isReadingReplica()} and skips the fill.
+ * <p>
+ * Without {@code datasource.replica.enabled} every read is on the primary and this state is
+ * never set.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_PINS = ThreadLocal.withInitial(() -> 0);
+    // Whether each transaction begun on this thread reads the replica, innermost first
+    private static final ThreadLocal<Deque<Boolean>> TRANSACTIONS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Runs the work with every read-only transaction it begins routed to the primary. A
+     * transaction already running keeps its connection.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        PRIMARY_PINS.set(PRIMARY_PINS.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            int pins = PRIMARY_PINS.get() - 1;
+            if (pins == 0) {
+                PRIMARY_PINS.remove();
+            } else {
+                PRIMARY_PINS.set(pins);
+            }
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_PINS.get() > 0;
+    }
+
+    /**
+     * Whether the current transaction reads the replica.
+     */
+    public static boolean isReadingReplica() {
+        Boolean replica = TRANSACTIONS.get().peek();
+        return replica != null && replica;
+    }
+
+    static Boolean currentTarget() {
+        return TRANSACTIONS.get().peek();
+    }
+
+    static void transactionBegan(boolean replica) {
+        TRANSACTIONS.get().push(replica);
+    }
+
+    static void transactionEnded() {
+        Deque<Boolean> transactions = TRANSACTIONS.get();
+        transactions.poll();
+        if (transactions.isEmpty()) {
+            TRANSACTIONS.remove();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sneakerhead.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a replica pool and everything else to
+ * the primary ({@code datasource.replica.enabled}). The application DataSource is a lazy proxy:
+ * it only fetches a connection on the first statement, after the transaction has marked it
+ * read-only, and takes read-only connections from {@link ReplicaRoutingDataSource}.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource.*} as before, the replica pool by
+ * {@code datasource.replica.pool.*} (Hikari properties such as {@code jdbc-url}). Locally, a second
+ * H2 database can act as the replica, kept in step by {@link LocalReplicaSync}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.pool")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    public WriteTrackingDataSource writeTrackingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Value("${datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new WriteTrackingDataSource(primary, window);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.local-sync.enabled", havingValue = "true")
+    public LocalReplicaSync localReplicaSync(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica) {
+        return new LocalReplicaSync(primary,
+                new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            WriteTrackingDataSource writes,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(writes, replica, lagMonitor, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WriteTrackingDataSource writes, ReplicaRoutingDataSource reads) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writes);
+        proxy.setReadOnlyDataSource(reads);
+        return proxy;
+    }
+}
@@ -0,0 +1,67 @@
+package com.sneakerhead.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replica lag with a heartbeat row: the primary's copy is stamped on every check and
+ * the lag is how old the stamp visible on the replica is. While the lag exceeds the tolerance,
+ * or the replica cannot be read, read-only transactions fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private volatile long lagMillis;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLag.toMillis();
+        TimeGauge.builder("datasource.replica.lag", this, TimeUnit.MILLISECONDS, monitor -> monitor.lagMillis)
+                .description("Age of the newest primary heartbeat visible on the replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void createHeartbeat() {
+        primary.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        if (primary.update("UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis()) == 0) {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, ?)", System.currentTimeMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval:1000}")
+    public void check() {
+        try {
+            primary.update("UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis());
+            Long beat = replica.queryForObject("SELECT beat_millis FROM replication_heartbeat WHERE id = 1", Long.class);
+            lagMillis = beat != null ? Math.max(0, System.currentTimeMillis() - beat) : Long.MAX_VALUE;
+        } catch (DataAccessException ex) {
+            log.warn("Replica lag check failed: {}", ex.getMessage());
+            lagMillis = Long.MAX_VALUE;
+        }
+        boolean nowUsable = lagMillis <= maxLagMillis;
+        if (nowUsable != usable) {
+            log.info(nowUsable ? "Replica caught up, routing reads to it" : "Replica lags {} ms, routing reads to the primary",
+                    lagMillis);
+        }
+        usable = nowUsable;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,110 @@
+package com.sneakerhead.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Where read-only transactions get their connection: the replica, unless it lags beyond the
+ * tolerance, the current user wrote within the read-your-writes window or the work is pinned
+ * to the primary (see {@link ReadRouting}), in which case the primary. Decisions are counted
+ * as {@code datasource.reads} by target.
+ * <p>
+ * Also registered with the transaction manager as an execution listener, so the target is
+ * chosen when a transaction begins rather than on its first statement. A transaction that reads
+ * the replica only reads the Hibernate second-level cache and never fills it: the rows it loads
+ * may predate a commit whose evictions have already run.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements TransactionExecutionListener {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final WriteTrackingDataSource writes;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(WriteTrackingDataSource writes, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.writes = writes;
+        this.lagMonitor = lagMonitor;
+        // Reads that fall back use the primary directly; they do not count as writes
+        setTargetDataSources(Map.of(PRIMARY, writes.getTargetDataSource(), REPLICA, replica));
+        setLenientFallback(false);
+        this.replicaReads = reads(meterRegistry, REPLICA);
+        this.primaryReads = reads(meterRegistry, PRIMARY);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Boolean chosen = ReadRouting.currentTarget();
+        if (chosen != null ? chosen : readsReplica()) {
+            replicaReads.increment();
+            return REPLICA;
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null || !transaction.isNewTransaction()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        boolean replica = transaction.isReadOnly() && readsReplica();
+        ReadRouting.transactionBegan(replica);
+        Session session = replica ? currentSession() : null;
+        CacheMode previousCacheMode = session != null ? session.getCacheMode() : null;
+        Object previousStoreMode = session != null ? session.getProperties().get(STORE_MODE) : null;
+        if (session != null) {
+            // find() follows the JPA store mode, queries the cache mode
+            session.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+            session.setCacheMode(CacheMode.GET);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session != null && session.isOpen()) {
+                    session.setProperty(STORE_MODE, previousStoreMode != null ? previousStoreMode : CacheStoreMode.USE);
+                    session.setCacheMode(previousCacheMode);
+                }
+                ReadRouting.transactionEnded();
+            }
+        });
+    }
+
+    private boolean readsReplica() {
+        return !ReadRouting.isPinnedToPrimary() && lagMonitor.isReplicaUsable() && !writes.wroteRecently();
+    }
+
+    private static Session currentSession() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                return holder.getEntityManager().unwrap(Session.class);
+            }
+        }
+        return null;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.reads")
+                .description("Read-only transactions by the DataSource that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
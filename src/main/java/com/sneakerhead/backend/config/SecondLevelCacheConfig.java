@@ -0,0 +1,74 @@
+package com.sneakerhead.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache, held in Caffeine through JCache. Entity and
+ * collection regions are bounded by {@code entity-cache.max-size} entries each and the query
+ * region by {@code entity-cache.query-max-size}; all of them expire entries after
+ * {@code entity-cache.ttl}, which also bounds how long a counter raced by a concurrent entity
+ * update can stay stale. The update timestamps region holds one entry per table and is never
+ * evicted, as Hibernate requires.
+ * <p>
+ * Hibernate fails at startup on a region that is not declared here. Hit, miss and put counts
+ * per region are published as {@code hibernate.second.level.cache.*} and
+ * {@code hibernate.cache.query.*} metrics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String TEAMS = "teams";
+    public static final String TEAM_MEMBERS = "teams.members";
+    public static final String TEAM_PROJECTS = "teams.projects";
+    public static final String PROJECTS = "projects";
+    public static final String USERS = "users";
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${entity-cache.max-size:10000}") long maxSize,
+            @Value("${entity-cache.query-max-size:1000}") long queryMaxSize,
+            @Value("${entity-cache.ttl:10m}") Duration ttl) {
+        // A URI of its own, so a second application context in the JVM does not share the regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : new String[]{TEAMS, TEAM_MEMBERS, TEAM_PROJECTS, PROJECTS, USERS}) {
+            cacheManager.createCache(region, region(maxSize, ttl));
+        }
+        cacheManager.createCache(QUERY_RESULTS, region(queryMaxSize, ttl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate's cache entries are already disassembled copies
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sneakerhead.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Support for running requests on virtual threads ({@code spring.threads.virtual.enabled}):
+ * puts a {@link ConnectionGovernor} in front of the connection pool. Pinning is reported by
+ * {@link VirtualThreadPinningMonitor}.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.governor.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionGovernorPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Each pool gets its own governor; routing and proxy DataSources in front of them do not
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                // Defaults to the pool size, so waiting happens here rather than inside the pool
+                int maxConcurrency = environment.getProperty("datasource.governor.max-concurrency", Integer.class, 0);
+                if (maxConcurrency <= 0) {
+                    maxConcurrency = pool.getMaximumPoolSize();
+                }
+                if (maxConcurrency <= 0) {
+                    // Hikari's own default, which it only applies when the pool starts
+                    maxConcurrency = DEFAULT_POOL_SIZE;
+                }
+                return new ConnectionGovernor(pool, beanName, maxConcurrency,
+                        environment.getProperty("datasource.governor.max-waiting", Integer.class, 2000),
+                        environment.getProperty("datasource.governor.acquire-timeout", Duration.class, Duration.ofSeconds(5)));
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.sneakerhead.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event and attributes each pin to the
+ * innermost frame of our own code on the stack, which is where a {@code synchronized} block
+ * or a call into a pinning library has to be fixed. Every origin is logged with its stack the
+ * first time and counted as {@code jvm.threads.virtual.pinned} afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "threads.pinning-monitor.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String APPLICATION_PACKAGE = "com.sneakerhead.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedOrigins = ConcurrentHashMap.newKeySet();
+
+    @Value("${threads.pinning-monitor.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::pinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    private void pinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String origin = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(name -> name.startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse("external");
+
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .tag("origin", origin)
+                .register(meterRegistry)
+                .increment();
+
+        if (reportedOrigins.add(origin)) {
+            String stack = frames.stream()
+                    .limit(LOGGED_FRAMES)
+                    .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                            + "(line " + frame.getLineNumber() + ")")
+                    .collect(Collectors.joining("\n"));
+            log.warn("Virtual thread pinned for {} ms in {}\n{}", event.getDuration().toMillis(), origin, stack);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sneakerhead.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sneakerhead.backend.security.UserPrincipal;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * The primary as seen by read-write transactions. Remembers which users opened one within the
+ * read-your-writes window, so that their following reads go to the primary as well and never
+ * see a replica that has not caught up with their own change yet.
+ * <p>
+ * The window is kept in memory, so it only covers requests served by the same instance.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public WriteTrackingDataSource(DataSource primary, Duration window) {
+        super(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+        return super.getConnection();
+    }
+
+    public boolean wroteRecently() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+    }
+}
@@ -1,8 +1,10 @@
 package com.sneakerhead.backend.controller;
 
 import com.sneakerhead.backend.dto.request.LoginRequest;
+import com.sneakerhead.backend.dto.request.RefreshTokenRequest;
 import com.sneakerhead.backend.dto.request.RegisterRequest;
 import com.sneakerhead.backend.dto.response.AuthResponse;
+import com.sneakerhead.backend.security.PasswordHashingExecutor;
 import com.sneakerhead.backend.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -10,12 +12,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final PasswordHashingExecutor passwordHashing;
 
     /**
      * Register a new user account
@@ -24,9 +29,9 @@ public class AuthController {
      * @return Authentication response with JWT token
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return passwordHashing.submit(() -> authService.register(request))
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     /**
@@ -36,8 +41,32 @@ public class AuthController {
      * @return Authentication response with JWT token
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return passwordHashing.submit(() -> authService.login(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token pair
+     * 
+     * @param request The current refresh token, which is revoked by this call
+     * @return Authentication response with the new tokens
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Revoke a refresh token
+     * 
+     * @param request The refresh token to revoke
+     * @return No content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
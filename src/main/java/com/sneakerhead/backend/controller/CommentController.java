@@ -2,6 +2,8 @@ package com.sneakerhead.backend.controller;
 
 import com.sneakerhead.backend.dto.request.CommentRequest;
 import com.sneakerhead.backend.dto.response.CommentResponse;
+import com.sneakerhead.backend.responsecache.ResponseCache;
+import com.sneakerhead.backend.responsecache.ResponseTags;
 import com.sneakerhead.backend.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,14 +11,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/tasks/{taskId}/comments")
 @RequiredArgsConstructor
 public class CommentController {
 
     private final CommentService commentService;
+    private final ResponseCache responseCache;
 
     /**
      * Add comment to a task
@@ -34,15 +35,17 @@ public class CommentController {
     }
 
     /**
-     * Get all comments for a task
+     * Get all comments for a task, served from the response cache
      * 
      * @param taskId Task ID
      * @return List of comments
      */
     @GetMapping
-    public ResponseEntity<List<CommentResponse>> getCommentsByTask(@PathVariable Long taskId) {
-        List<CommentResponse> comments = commentService.getCommentsByTask(taskId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<byte[]> getCommentsByTask(@PathVariable Long taskId) {
+        return responseCache.get("tasks/" + taskId + "/comments",
+                () -> commentService.getCommentsByTask(taskId),
+                comments -> ResponseTags.ofComments(taskId, comments))
+                .toResponse();
     }
 
     /**
@@ -0,0 +1,108 @@
+package com.sneakerhead.backend.controller;
+
+import com.sneakerhead.backend.dto.response.ImportJobErrorResponse;
+import com.sneakerhead.backend.dto.response.ImportJobResponse;
+import com.sneakerhead.backend.entity.ImportJob;
+import com.sneakerhead.backend.service.TaskImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final TaskImportService taskImportService;
+
+    /**
+     * Upload a CSV or NDJSON file of tasks and import it in the background
+     * 
+     * @param file   File with one task per record, in the task export layout
+     * @param format Optional format; inferred from the file extension when omitted
+     * @return Queued import job
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> importTasks(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportJob.Format format) throws IOException {
+        ImportJobResponse job = taskImportService.submit(file, format);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Import a CSV or NDJSON file sent as the request body, for files above the multipart
+     * upload limit
+     * 
+     * @param request  Request whose body is the file, typed text/csv or application/x-ndjson
+     * @param fileName Optional name to show for the import job
+     * @return Queued import job
+     */
+    @PostMapping(consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportJobResponse> importTasksFromBody(
+            HttpServletRequest request,
+            @RequestParam(required = false) String fileName) throws IOException {
+        ImportJob.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? ImportJob.Format.CSV : ImportJob.Format.NDJSON;
+        ImportJobResponse job = taskImportService.submit(request.getInputStream(), request.getContentLengthLong(),
+                fileName, format);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Get import jobs of the current user, newest first
+     * 
+     * @return List of import jobs
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportJobResponse>> getMyJobs() {
+        List<ImportJobResponse> jobs = taskImportService.getMyJobs();
+        return ResponseEntity.ok(jobs);
+    }
+
+    /**
+     * Get import job progress
+     * 
+     * @param id Import job ID
+     * @return Import job with row counts
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobResponse> getJob(@PathVariable Long id) {
+        ImportJobResponse job = taskImportService.getJob(id);
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Get rows rejected by an import job
+     * 
+     * @param id Import job ID
+     * @return Rejected rows with the reason, by row number
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<ImportJobErrorResponse>> getErrors(@PathVariable Long id) {
+        List<ImportJobErrorResponse> errors = taskImportService.getErrors(id);
+        return ResponseEntity.ok(errors);
+    }
+
+    /**
+     * Resume a failed import job after its last committed batch
+     * 
+     * @param id Import job ID
+     * @return Requeued import job
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ImportJobResponse> resume(@PathVariable Long id) {
+        ImportJobResponse job = taskImportService.resume(id);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+}
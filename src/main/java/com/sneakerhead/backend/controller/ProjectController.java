@@ -1,15 +1,27 @@
 package com.sneakerhead.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.sneakerhead.backend.dto.request.ProjectRequest;
 import com.sneakerhead.backend.dto.response.ProjectResponse;
+import com.sneakerhead.backend.dto.response.ProjectStatsResponse;
+import com.sneakerhead.backend.responsecache.ResponseCache;
+import com.sneakerhead.backend.responsecache.ResponseTags;
+import com.sneakerhead.backend.service.OptimisticConcurrency;
 import com.sneakerhead.backend.service.ProjectService;
+import com.sneakerhead.backend.service.ProjectStatsService;
+import com.sneakerhead.backend.util.EntityTags;
+import com.sneakerhead.backend.util.MergePatch;
+import com.sneakerhead.backend.util.ResponseValidators;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -17,6 +29,9 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectStatsService projectStatsService;
+    private final OptimisticConcurrency optimisticConcurrency;
+    private final ResponseCache responseCache;
 
     /**
      * Create a new project
@@ -33,44 +48,104 @@ public class ProjectController {
     /**
      * Get project by ID
      * 
-     * @param id Project ID
-     * @return Project details
+     * With If-None-Match still matching the current ETag, 304 is returned from a lookup of the
+     * tag alone.
+     * 
+     * @param id          Project ID
+     * @param ifNoneMatch Optional ETags the client already has
+     * @return Project details, with its ETag and Last-Modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectResponse> getProjectById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<ResponseValidators> current = projectService.getProjectValidators(id);
+            if (current.isPresent() && current.get().matches(ifNoneMatch)) {
+                return current.get().notModified();
+            }
+        }
         ProjectResponse project = projectService.getProjectById(id);
-        return ResponseEntity.ok(project);
+        return ResponseValidators.of(project).ok(project);
     }
 
     /**
-     * Get all projects or filter by team
+     * Get all projects
      * 
-     * @param teamId Optional team ID filter
      * @return List of projects
      */
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(
-            @RequestParam(required = false) Long teamId) {
-        if (teamId != null) {
-            return ResponseEntity.ok(projectService.getProjectsByTeam(teamId));
-        } else {
-            return ResponseEntity.ok(projectService.getAllProjects());
-        }
+    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
+        return ResponseEntity.ok(projectService.getAllProjects());
     }
 
     /**
-     * Update project
+     * Get the projects of a team, served from the response cache
+     * 
+     * @param teamId Team ID
+     * @return List of projects
+     */
+    @GetMapping(params = "teamId")
+    public ResponseEntity<byte[]> getProjectsByTeam(@RequestParam Long teamId) {
+        return responseCache.get("projects?teamId=" + teamId,
+                () -> projectService.getProjectsByTeam(teamId),
+                projects -> ResponseTags.ofTeamProjects(teamId, projects))
+                .toResponse();
+    }
+
+    /**
+     * Get dashboard statistics of a project: task counts by status and priority, overdue tasks,
+     * tasks completed this week and the load of each assignee. Computed by aggregate queries
+     * and cached for a short time.
+     * 
+     * @param id Project ID
+     * @return Project statistics
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ProjectStatsResponse> getProjectStats(@PathVariable Long id) {
+        return ResponseEntity.ok(projectStatsService.getProjectStats(id));
+    }
+
+    /**
+     * Update project. With If-Match the update only applies to that version of the project;
+     * otherwise 412 is returned with the current project.
      * 
      * @param id      Project ID
      * @param request Updated project details
+     * @param ifMatch Optional ETag of the version being updated
      * @return Updated project
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable Long id,
-            @Valid @RequestBody ProjectRequest request) {
-        ProjectResponse project = projectService.updateProject(id, request);
-        return ResponseEntity.ok(project);
+            @Valid @RequestBody ProjectRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        ProjectResponse project = optimisticConcurrency.conditional(expectedVersion,
+                () -> projectService.updateProject(id, request, expectedVersion),
+                () -> projectService.getProjectById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(project)).body(project);
+    }
+
+    /**
+     * Partially update project with a JSON Merge Patch: absent fields are kept, null clears a
+     * field. A patch that changes nothing writes nothing.
+     * 
+     * @param id      Project ID
+     * @param patch   Fields to change (name, description, status, startDate, endDate)
+     * @param ifMatch Optional ETag of the version being updated
+     * @return Updated project
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProjectResponse> patchProject(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        ProjectResponse project = optimisticConcurrency.conditional(expectedVersion,
+                () -> projectService.patchProject(id, patch, expectedVersion),
+                () -> projectService.getProjectById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(project)).body(project);
     }
 
     /**
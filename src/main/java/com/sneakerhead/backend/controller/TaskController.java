@@ -1,16 +1,31 @@
 package com.sneakerhead.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.dto.request.BulkTaskRequest;
+import com.sneakerhead.backend.dto.request.TaskFilterRequest;
 import com.sneakerhead.backend.dto.request.TaskRequest;
+import com.sneakerhead.backend.dto.response.BulkTaskResponse;
+import com.sneakerhead.backend.dto.response.CursorPage;
 import com.sneakerhead.backend.dto.response.TaskResponse;
 import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.repository.TaskSortKey;
+import com.sneakerhead.backend.service.OptimisticConcurrency;
+import com.sneakerhead.backend.service.TaskExportService;
 import com.sneakerhead.backend.service.TaskService;
+import com.sneakerhead.backend.util.EntityTags;
+import com.sneakerhead.backend.util.MergePatch;
+import com.sneakerhead.backend.util.ResponseValidators;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -18,6 +33,8 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final OptimisticConcurrency optimisticConcurrency;
 
     /**
      * Create a new task
@@ -31,60 +48,172 @@ public class TaskController {
         return new ResponseEntity<>(task, HttpStatus.CREATED);
     }
 
+    /**
+     * Create, update and assign tasks in one request. Each operation is reported separately;
+     * invalid operations fail on their own without rolling back the rest.
+     * 
+     * @param request Operations to apply, in order
+     * @return Per-operation results
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> bulkTasks(@Valid @RequestBody BulkTaskRequest request) {
+        BulkTaskResponse response = taskService.bulkApply(request.getOperations());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get task by ID
      * 
-     * @param id Task ID
-     * @return Task details
+     * With If-None-Match still matching the current ETag, 304 is returned from a lookup of the
+     * tag alone.
+     * 
+     * @param id          Task ID
+     * @param ifNoneMatch Optional ETags the client already has
+     * @return Task details, with its ETag and Last-Modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<ResponseValidators> current = taskService.getTaskValidators(id);
+            if (current.isPresent() && current.get().matches(ifNoneMatch)) {
+                return current.get().notModified();
+            }
+        }
         TaskResponse task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseValidators.of(task).ok(task);
     }
 
     /**
-     * Get all tasks
+     * Get tasks one page at a time, optionally filtered by status. With a search query the
+     * results are ranked by relevance and the sort parameters are ignored.
      * 
-     * @return List of all tasks
+     * @param status    Optional status filter
+     * @param search    Optional full-text query over title and description
+     * @param cursor    Opaque cursor returned as "next" by the previous page
+     * @param size      Page size (capped at 100)
+     * @param sort      Sort key
+     * @param direction Sort direction
+     * @return Page of tasks with the cursor of the next page
      */
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
+    public ResponseEntity<CursorPage<TaskResponse>> getAllTasks(
             @RequestParam(required = false) Task.Status status,
-            @RequestParam(required = false) String search) {
-        if (status != null) {
-            return ResponseEntity.ok(taskService.getTasksByStatus(status));
-        } else if (search != null && !search.isEmpty()) {
-            return ResponseEntity.ok(taskService.searchTasks(search));
-        } else {
-            return ResponseEntity.ok(taskService.getAllTasks());
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "CREATED_AT") TaskSortKey sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        if (search != null && !search.isBlank()) {
+            return ResponseEntity.ok(taskService.searchTasks(search, status, cursor, size));
         }
+        return ResponseEntity.ok(taskService.getTasks(status, sort, direction, cursor, size));
     }
 
     /**
-     * Get tasks assigned to or created by current user
+     * Get tasks matching any combination of filters, one page at a time
      * 
-     * @return List of user's tasks
+     * @param filter    Status and priority sets, assignee, creator, project, team, due and completion ranges
+     * @param cursor    Opaque cursor returned as "next" by the previous page
+     * @param size      Page size (capped at 100)
+     * @param sort      Sort key
+     * @param direction Sort direction
+     * @return Page of matching tasks with the cursor of the next page
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<CursorPage<TaskResponse>> filterTasks(
+            TaskFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "CREATED_AT") TaskSortKey sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+        return ResponseEntity.ok(taskService.filterTasks(filter, sort, direction, cursor, size));
+    }
+
+    /**
+     * Export every task of a project or team, streamed row by row
+     * 
+     * @param projectId Project to export (exclusive with teamId)
+     * @param teamId    Team to export (exclusive with projectId)
+     * @param format    NDJSON (one task per line) or CSV
+     * @return Streamed export file
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(defaultValue = "NDJSON") TaskExportService.Format format) {
+        taskExportService.checkScope(projectId, teamId);
+
+        StreamingResponseBody body = out -> taskExportService.export(projectId, teamId, format, out);
+        String filename = (projectId != null ? "project-" + projectId : "team-" + teamId) + "-tasks." + format.getExtension();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Get tasks assigned to or created by current user, newest first
+     * 
+     * @param status Optional status filter
+     * @param cursor Opaque cursor returned as "next" by the previous page
+     * @param size   Page size (capped at 100)
+     * @return Page of user's tasks
      */
     @GetMapping("/my-tasks")
-    public ResponseEntity<List<TaskResponse>> getMyTasks() {
-        List<TaskResponse> tasks = taskService.getMyTasks();
+    public ResponseEntity<CursorPage<TaskResponse>> getMyTasks(
+            @RequestParam(required = false) Task.Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<TaskResponse> tasks = taskService.getMyTasks(status, cursor, size);
         return ResponseEntity.ok(tasks);
     }
 
     /**
-     * Update task
+     * Update task. With If-Match the update only applies to that version of the task;
+     * otherwise 412 is returned with the current task. Without If-Match, a concurrent change
+     * to the task is retried rather than reported.
      * 
      * @param id      Task ID
      * @param request Updated task details
+     * @param ifMatch Optional ETag of the version being updated
      * @return Updated task
      */
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
-            @Valid @RequestBody TaskRequest request) {
-        TaskResponse task = taskService.updateTask(id, request);
-        return ResponseEntity.ok(task);
+            @Valid @RequestBody TaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        TaskResponse task = optimisticConcurrency.commutative(expectedVersion,
+                () -> taskService.updateTask(id, request, expectedVersion),
+                () -> taskService.getTaskById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(task)).body(task);
+    }
+
+    /**
+     * Partially update task with a JSON Merge Patch: absent fields are kept, null clears a
+     * field. Only changed columns are written, and a patch that changes nothing writes nothing.
+     * Without If-Match, a concurrent change to the task is retried rather than reported.
+     * 
+     * @param id      Task ID
+     * @param patch   Fields to change (title, description, assigneeId, status, priority, dueDate)
+     * @param ifMatch Optional ETag of the version being updated
+     * @return Updated task
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        TaskResponse task = optimisticConcurrency.commutative(expectedVersion,
+                () -> taskService.patchTask(id, patch, expectedVersion),
+                () -> taskService.getTaskById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(task)).body(task);
     }
 
     /**
@@ -100,29 +229,41 @@ public class TaskController {
     }
 
     /**
-     * Assign task to a user
+     * Assign task to a user. Without If-Match, a concurrent change to the task is retried
+     * rather than reported.
      * 
      * @param id         Task ID
      * @param assigneeId User ID to assign
+     * @param ifMatch    Optional ETag of the version being updated
      * @return Updated task
      */
     @PatchMapping("/{id}/assign/{assigneeId}")
     public ResponseEntity<TaskResponse> assignTask(
             @PathVariable Long id,
-            @PathVariable Long assigneeId) {
-        TaskResponse task = taskService.assignTask(id, assigneeId);
-        return ResponseEntity.ok(task);
+            @PathVariable Long assigneeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        TaskResponse task = optimisticConcurrency.commutative(expectedVersion,
+                () -> taskService.assignTask(id, assigneeId, expectedVersion),
+                () -> taskService.getTaskById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(task)).body(task);
     }
 
     /**
      * Mark task as completed
      * 
-     * @param id Task ID
+     * @param id      Task ID
+     * @param ifMatch Optional ETag of the version being updated
      * @return Updated task
      */
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<TaskResponse> markAsCompleted(@PathVariable Long id) {
-        TaskResponse task = taskService.markAsCompleted(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskResponse> markAsCompleted(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        TaskResponse task = optimisticConcurrency.commutative(expectedVersion,
+                () -> taskService.markAsCompleted(id, expectedVersion),
+                () -> taskService.getTaskById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(task)).body(task);
     }
 }
@@ -2,14 +2,22 @@ package com.sneakerhead.backend.controller;
 
 import com.sneakerhead.backend.dto.request.TeamRequest;
 import com.sneakerhead.backend.dto.response.TeamResponse;
+import com.sneakerhead.backend.responsecache.CachedJson;
+import com.sneakerhead.backend.responsecache.ResponseCache;
+import com.sneakerhead.backend.responsecache.ResponseTags;
+import com.sneakerhead.backend.service.OptimisticConcurrency;
 import com.sneakerhead.backend.service.TeamService;
+import com.sneakerhead.backend.util.EntityTags;
+import com.sneakerhead.backend.util.ResponseValidators;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -17,6 +25,8 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
+    private final OptimisticConcurrency optimisticConcurrency;
+    private final ResponseCache responseCache;
 
     /**
      * Create a new team
@@ -31,15 +41,32 @@ public class TeamController {
     }
 
     /**
-     * Get team by ID
+     * Get team by ID, served from the response cache
      * 
-     * @param id Team ID
-     * @return Team details
+     * With If-None-Match still matching the current ETag, 304 is returned from the cached
+     * response or, when it is not cached, from a lookup of the tag alone.
+     * 
+     * @param id          Team ID
+     * @param ifNoneMatch Optional ETags the client already has
+     * @return Team details, with its ETag and Last-Modified
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TeamResponse> getTeamById(@PathVariable Long id) {
-        TeamResponse team = teamService.getTeamById(id);
-        return ResponseEntity.ok(team);
+    public ResponseEntity<byte[]> getTeamById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String key = "teams/" + id;
+        if (ifNoneMatch != null && !responseCache.contains(key)) {
+            Optional<ResponseValidators> current = teamService.getTeamValidators(id);
+            if (current.isPresent() && current.get().matches(ifNoneMatch)) {
+                return current.get().notModified();
+            }
+        }
+        CachedJson team = responseCache.get(key, () -> teamService.getTeamById(id),
+                ResponseTags::of, ResponseValidators::of);
+        if (ifNoneMatch != null && team.validators().matches(ifNoneMatch)) {
+            return team.validators().notModified();
+        }
+        return team.toResponse();
     }
 
     /**
@@ -54,29 +81,44 @@ public class TeamController {
     }
 
     /**
-     * Get teams where current user is a member
+     * Get teams where current user is a member. The ETag covers the whole list, so a poll whose
+     * If-None-Match still matches gets 304 without the teams being loaded.
      * 
+     * @param ifNoneMatch Optional ETags the client already has
      * @return List of user's teams
      */
     @GetMapping("/my-teams")
-    public ResponseEntity<List<TeamResponse>> getMyTeams() {
+    public ResponseEntity<List<TeamResponse>> getMyTeams(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            ResponseValidators current = teamService.getMyTeamsValidators();
+            if (current.matches(ifNoneMatch)) {
+                return current.notModified();
+            }
+        }
         List<TeamResponse> teams = teamService.getMyTeams();
-        return ResponseEntity.ok(teams);
+        return ResponseValidators.ofCollection(teams).ok(teams);
     }
 
     /**
-     * Update team
+     * Update team. With If-Match the update only applies to that version of the team;
+     * otherwise 412 is returned with the current team.
      * 
      * @param id      Team ID
      * @param request Updated team details
+     * @param ifMatch Optional ETag of the version being updated
      * @return Updated team
      */
     @PutMapping("/{id}")
     public ResponseEntity<TeamResponse> updateTeam(
             @PathVariable Long id,
-            @Valid @RequestBody TeamRequest request) {
-        TeamResponse team = teamService.updateTeam(id, request);
-        return ResponseEntity.ok(team);
+            @Valid @RequestBody TeamRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = EntityTags.expectedVersion(ifMatch);
+        TeamResponse team = optimisticConcurrency.conditional(expectedVersion,
+                () -> teamService.updateTeam(id, request, expectedVersion),
+                () -> teamService.getTeamById(id));
+        return ResponseEntity.ok().eTag(EntityTags.of(team)).body(team);
     }
 
     /**
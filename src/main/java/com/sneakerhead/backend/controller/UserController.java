@@ -1,9 +1,11 @@
 package com.sneakerhead.backend.controller;
 
 import com.sneakerhead.backend.dto.response.UserResponse;
+import com.sneakerhead.backend.entity.User;
 import com.sneakerhead.backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -60,4 +62,34 @@ public class UserController {
         UserResponse updatedUser = userService.updateProfile(userResponse);
         return ResponseEntity.ok(updatedUser);
     }
+
+    /**
+     * Change a user's role (admin only). The user's cached principal is dropped, so the new
+     * role applies from their next request.
+     * 
+     * @param id   User ID
+     * @param role New role
+     * @return Updated user
+     */
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserResponse> changeRole(@PathVariable Long id, @RequestParam User.Role role) {
+        UserResponse user = userService.changeRole(id, role);
+        return ResponseEntity.ok(user);
+    }
+
+    /**
+     * Activate or deactivate a user (admin only). Deactivated users can no longer authenticate,
+     * from their next request on.
+     * 
+     * @param id     User ID
+     * @param active Whether the user may sign in
+     * @return Updated user
+     */
+    @PutMapping("/{id}/active")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserResponse> setActive(@PathVariable Long id, @RequestParam boolean active) {
+        UserResponse user = userService.setActive(id, active);
+        return ResponseEntity.ok(user);
+    }
 }
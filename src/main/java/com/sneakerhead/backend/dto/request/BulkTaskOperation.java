@@ -0,0 +1,34 @@
+package com.sneakerhead.backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskOperation {
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    // Target of UPDATE and ASSIGN
+    private Long taskId;
+
+    // New assignee for ASSIGN
+    private Long assigneeId;
+
+    // Version of the task the client last read, for UPDATE and ASSIGN; the operation fails if the
+    // task has changed since. Checked against the version the task had before the request
+    private Long version;
+
+    // Task fields for CREATE (validated like POST /api/tasks) and UPDATE (only non-null fields applied and validated)
+    private TaskRequest task;
+
+    public enum Type {
+        CREATE, UPDATE, ASSIGN
+    }
+}
@@ -0,0 +1,20 @@
+package com.sneakerhead.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid BulkTaskOperation> operations;
+}
@@ -0,0 +1,21 @@
+package com.sneakerhead.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssigneeLoad {
+
+    private Long userId;
+    private String username;
+    private String fullName;
+    private Long openTasksCount;
+    private Long inProgressTasksCount;
+    private Long completedTasksCount;
+    private Long cancelledTasksCount;
+}
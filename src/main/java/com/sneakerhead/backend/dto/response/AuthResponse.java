@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
+    private Long expiresIn;
     private UserResponse user;
 }
@@ -0,0 +1,19 @@
+package com.sneakerhead.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResponse {
+
+    private Integer succeeded;
+    private Integer failed;
+    private List<BulkTaskResult> results;
+}
@@ -0,0 +1,18 @@
+package com.sneakerhead.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResult {
+
+    private Integer index;
+    private Boolean success;
+    private TaskResponse task;
+    private String error;
+}
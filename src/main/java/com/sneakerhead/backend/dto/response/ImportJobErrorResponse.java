@@ -0,0 +1,16 @@
+package com.sneakerhead.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobErrorResponse {
+
+    private Long rowNumber;
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.sneakerhead.backend.dto.response;
+
+import com.sneakerhead.backend.entity.ImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private Long id;
+    private ImportJob.Format format;
+    private ImportJob.Status status;
+    private String fileName;
+    private Long fileSize;
+    private Long processedRows;
+    private Long importedRows;
+    private Long failedRows;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
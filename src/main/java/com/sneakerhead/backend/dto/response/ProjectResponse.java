@@ -1,5 +1,6 @@
 package com.sneakerhead.backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sneakerhead.backend.entity.Project;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProjectResponse {
+public class ProjectResponse implements Versioned {
 
     private Long id;
     private String name;
@@ -21,8 +22,23 @@ public class ProjectResponse {
     private String teamName;
     private Project.Status status;
     private Integer tasksCount;
+    private Integer openTasksCount;
+    private Integer inProgressTasksCount;
+    private Integer completedTasksCount;
+    private Integer cancelledTasksCount;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    // State of the team whose name is shown (see Versioned.references); not serialized
+    @JsonIgnore
+    private String references;
+
+    @Override
+    public Object[] tagState() {
+        return new Object[]{tasksCount, openTasksCount, inProgressTasksCount, completedTasksCount, cancelledTasksCount,
+                references};
+    }
 }
@@ -0,0 +1,29 @@
+package com.sneakerhead.backend.dto.response;
+
+import com.sneakerhead.backend.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectStatsResponse {
+
+    private Long projectId;
+    private Long tasksCount;
+    private Map<Task.Status, Long> statusCounts;
+    private Map<Task.Priority, Long> priorityCounts;
+    private Long overdueTasksCount;
+    private Long completedThisWeekCount;
+    private Long unassignedTasksCount;
+    // Busiest first: most open and in progress tasks
+    private List<AssigneeLoad> assignees;
+    private LocalDateTime computedAt;
+}
@@ -1,5 +1,6 @@
 package com.sneakerhead.backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sneakerhead.backend.entity.Task;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskResponse {
+public class TaskResponse implements Versioned {
 
     private Long id;
     private String title;
@@ -29,4 +30,18 @@ public class TaskResponse {
     private LocalDateTime updatedAt;
     private Integer commentsCount;
     private Integer attachmentsCount;
+    private Long version;
+
+    // Buffered writes overlaid on this response (see TaskWriteBuffer); not serialized
+    @JsonIgnore
+    private int pendingWrites;
+
+    // State of the stored project, creator and assignee (see Versioned.references); not serialized
+    @JsonIgnore
+    private String references;
+
+    @Override
+    public Object[] tagState() {
+        return new Object[]{commentsCount, attachmentsCount, pendingWrites, references};
+    }
 }
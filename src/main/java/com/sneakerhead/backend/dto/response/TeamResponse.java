@@ -6,13 +6,15 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
 import java.util.Set;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TeamResponse {
+public class TeamResponse implements Versioned {
 
     private Long id;
     private String name;
@@ -23,4 +25,17 @@ public class TeamResponse {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    @Override
+    public Object[] tagState() {
+        // Whichever member changes moves the latest time, so it stands for all of them
+        LocalDateTime membersUpdatedAt = members == null ? null : members.stream()
+                .map(UserResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new Object[]{projectsCount,
+                Versioned.references(owner != null ? owner.getUpdatedAt() : null, membersUpdatedAt)};
+    }
 }
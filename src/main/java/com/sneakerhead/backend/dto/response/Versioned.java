@@ -0,0 +1,52 @@
+package com.sneakerhead.backend.dto.response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * A response for an entity under optimistic locking. Its ETag is the version followed by
+ * {@link #tagState()}; only the version is expected back in If-Match on updates.
+ */
+public interface Versioned {
+
+    // 64 bits of the digest are plenty to tell one state of the embedded rows from the next
+    int REFERENCES_BYTES = 8;
+
+    Long getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    /**
+     * Parts of the representation that change without a version bump, such as denormalized
+     * counters or the names of other rows it embeds. They are part of the ETag so that a
+     * conditional GET notices them.
+     */
+    default Object[] tagState() {
+        return new Object[0];
+    }
+
+    /**
+     * Digest of the state of the other rows a representation embeds, given as their versions
+     * or, for rows without one, their modification times. Times count to the millisecond so
+     * that an entity just written and the row read back from the database give the same tag.
+     */
+    static String references(Object... rows) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object row : rows) {
+                Object state = row instanceof LocalDateTime time ? time.truncatedTo(ChronoUnit.MILLIS) : row;
+                digest.update((state + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), REFERENCES_BYTES));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
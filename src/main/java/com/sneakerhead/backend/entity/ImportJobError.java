@@ -0,0 +1,37 @@
+package com.sneakerhead.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "idx_import_job_errors_job_row", columnList = "job_id, row_number")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_seq")
+    @SequenceGenerator(name = "import_job_errors_seq", sequenceName = "import_job_errors_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ImportJob job;
+
+    // 1-based record number in the file, not counting the CSV header
+    @Column(name = "row_number", nullable = false)
+    private Long rowNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
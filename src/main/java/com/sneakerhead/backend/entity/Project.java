@@ -1,11 +1,17 @@
 package com.sneakerhead.backend.entity;
 
+import com.sneakerhead.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,10 +20,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Only dirty columns are written on update
+@DynamicUpdate
 public class Project {
 
     @Id
@@ -39,14 +48,42 @@ public class Project {
     private Status status = Status.ACTIVE;
 
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Task> tasks = new HashSet<>();
 
+    // Denormalized counters, maintained by CounterService; never written by entity updates
+    @Builder.Default
+    @Column(name = "tasks_count", nullable = false, updatable = false)
+    private Integer tasksCount = 0;
+
+    @Builder.Default
+    @Column(name = "open_tasks_count", nullable = false, updatable = false)
+    private Integer openTasksCount = 0;
+
+    @Builder.Default
+    @Column(name = "in_progress_tasks_count", nullable = false, updatable = false)
+    private Integer inProgressTasksCount = 0;
+
+    @Builder.Default
+    @Column(name = "completed_tasks_count", nullable = false, updatable = false)
+    private Integer completedTasksCount = 0;
+
+    @Builder.Default
+    @Column(name = "cancelled_tasks_count", nullable = false, updatable = false)
+    private Integer cancelledTasksCount = 0;
+
     @Column(name = "start_date")
     private LocalDateTime startDate;
 
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
+    // Optimistic lock; the counter bulk updates leave it untouched
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
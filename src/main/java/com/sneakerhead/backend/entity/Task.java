@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,15 +14,36 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset listings: every index ends in the sort key and id so filtered pages are range scans
+        @Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_tasks_priority_created_at", columnList = "priority, created_at, id"),
+        @Index(name = "idx_tasks_assignee_status_created_at", columnList = "assignee_id, status, created_at, id"),
+        @Index(name = "idx_tasks_creator_status_created_at", columnList = "creator_id, status, created_at, id"),
+        @Index(name = "idx_tasks_project_status_created_at", columnList = "project_id, status, created_at, id"),
+        @Index(name = "idx_tasks_project_due_date", columnList = "project_id, due_date"),
+        // Project statistics: covering indexes, so the aggregates never read the rows
+        @Index(name = "idx_tasks_project_priority", columnList = "project_id, priority"),
+        @Index(name = "idx_tasks_project_assignee_status", columnList = "project_id, assignee_id, status"),
+        @Index(name = "idx_tasks_project_status_due_date", columnList = "project_id, status, due_date"),
+        @Index(name = "idx_tasks_project_status_completed_at", columnList = "project_id, status, completed_at"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+        @Index(name = "idx_tasks_completed_at", columnList = "completed_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// Updates write only the dirty columns, so a status change does not rewrite the description
+@DynamicUpdate
 public class Task {
 
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts (ids are allocated 50 at a time)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -62,6 +84,20 @@ public class Task {
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Attachment> attachments = new HashSet<>();
 
+    // Denormalized counters, maintained by CounterService; never written by entity updates
+    @Builder.Default
+    @Column(name = "comments_count", nullable = false, updatable = false)
+    private Integer commentsCount = 0;
+
+    @Builder.Default
+    @Column(name = "attachments_count", nullable = false, updatable = false)
+    private Integer attachmentsCount = 0;
+
+    // Optimistic lock; the counter bulk updates leave it untouched
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
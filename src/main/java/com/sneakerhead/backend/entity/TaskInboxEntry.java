@@ -0,0 +1,54 @@
+package com.sneakerhead.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per (user, task) where the user created or is assigned the task. Status and creation
+ * time are copied from the task so an inbox page is a single index range scan on user_id.
+ */
+@Entity
+@Table(name = "task_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_inbox_user_task", columnNames = {"user_id", "task_id"}),
+        indexes = {
+                @Index(name = "idx_task_inbox_user_created_at", columnList = "user_id, task_created_at, task_id"),
+                @Index(name = "idx_task_inbox_user_status_created_at", columnList = "user_id, status, task_created_at, task_id"),
+                @Index(name = "idx_task_inbox_task", columnList = "task_id")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskInboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_inbox_seq")
+    @SequenceGenerator(name = "task_inbox_seq", sequenceName = "task_inbox_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @Column(name = "task_id", insertable = false, updatable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Status status;
+
+    @Column(name = "task_created_at", nullable = false)
+    private LocalDateTime taskCreatedAt;
+}
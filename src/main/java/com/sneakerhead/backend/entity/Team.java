@@ -1,10 +1,15 @@
 package com.sneakerhead.backend.entity;
 
+import com.sneakerhead.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +19,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "teams")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TEAMS)
 @Data
 @Builder
 @NoArgsConstructor
@@ -34,16 +40,32 @@ public class Team {
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TEAM_MEMBERS)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "team_members", joinColumns = @JoinColumn(name = "team_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<User> members = new HashSet<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TEAM_PROJECTS)
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Project> projects = new HashSet<>();
 
+    // Denormalized counter, maintained by CounterService; never written by entity updates
+    @Builder.Default
+    @Column(name = "projects_count", nullable = false, updatable = false)
+    private Integer projectsCount = 0;
+
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Optimistic lock; the counter bulk updates leave it untouched
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,10 +1,16 @@
 package com.sneakerhead.backend.entity;
 
+import com.sneakerhead.backend.config.SecondLevelCacheConfig;
+import com.sneakerhead.backend.security.UserCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +20,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,6 +56,11 @@ public class User {
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Bumped to revoke every token issued to the user so far
+    @Column(name = "token_version", nullable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -56,13 +69,21 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Associations stay out of equals/hashCode/toString: hashing a user into a team's member
+    // set would otherwise load them, recursing back into the set being loaded
     @ManyToMany(mappedBy = "members", fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Team> teams = new HashSet<>();
 
     @OneToMany(mappedBy = "assignee", fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Task> assignedTasks = new HashSet<>();
 
     @OneToMany(mappedBy = "creator", fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Task> createdTasks = new HashSet<>();
 
     public enum Role {
@@ -0,0 +1,7 @@
+package com.sneakerhead.backend.event;
+
+/**
+ * A comment was added to or removed from a task.
+ */
+public record CommentChangedEvent(Long taskId) {
+}
@@ -0,0 +1,9 @@
+package com.sneakerhead.backend.event;
+
+/**
+ * A project changed. {@code teamId} is set when the team's project list changed with it
+ * (the project was created, deleted or edited); it is {@code null} for changes to the
+ * project's own task counters.
+ */
+public record ProjectChangedEvent(Long projectId, Long teamId) {
+}
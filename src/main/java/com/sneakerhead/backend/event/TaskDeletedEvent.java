@@ -0,0 +1,7 @@
+package com.sneakerhead.backend.event;
+
+/**
+ * A task was deleted, directly or with its project or team, together with its comments.
+ */
+public record TaskDeletedEvent(Long taskId) {
+}
@@ -0,0 +1,7 @@
+package com.sneakerhead.backend.event;
+
+/**
+ * A team's details, members or project count changed, or the team was deleted.
+ */
+public record TeamChangedEvent(Long teamId) {
+}
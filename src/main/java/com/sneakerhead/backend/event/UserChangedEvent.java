@@ -0,0 +1,7 @@
+package com.sneakerhead.backend.event;
+
+/**
+ * A user row was updated or removed, by any service.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,8 @@
+package com.sneakerhead.backend.exception;
+
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
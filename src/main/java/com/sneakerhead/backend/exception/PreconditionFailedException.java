@@ -0,0 +1,19 @@
+package com.sneakerhead.backend.exception;
+
+import com.sneakerhead.backend.dto.response.Versioned;
+import lombok.Getter;
+
+/**
+ * A conditional update lost against a concurrent write. Carries the current state of the
+ * resource so the client can merge without another round trip.
+ */
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+
+    private final transient Versioned current;
+
+    public PreconditionFailedException(String message, Versioned current) {
+        super(message);
+        this.current = current;
+    }
+}
@@ -0,0 +1,8 @@
+package com.sneakerhead.backend.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,335 @@
+package com.sneakerhead.backend.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sneakerhead.backend.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes a POST or PATCH carrying an {@code Idempotency-Key} header at most once per user,
+ * path and key. The first request claims the key and its response is stored for
+ * {@code idempotency.ttl}; a retry with the same key and body gets that response replayed,
+ * marked with {@code Idempotent-Replayed: true}. A duplicate that arrives while the first is
+ * still running waits for it (up to {@code idempotency.wait-timeout}, then 409), and reusing a
+ * key for a different body is rejected with 422. Server errors are not stored, so a request
+ * that failed with one can be retried.
+ * <p>
+ * Runs after Spring Security, so keys are scoped to the authenticated user. Multipart uploads
+ * and the asynchronous auth endpoints are not covered. The body is held in memory to be
+ * fingerprinted, so a request whose body exceeds {@code idempotency.max-body-size} is rejected
+ * with 413 instead.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // Waiting on a request served by another instance can only poll the store
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final int maxBodyBytes;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${idempotency.ttl:24h}") Duration ttl,
+                             @Value("${idempotency.lock-timeout:30s}") Duration lease,
+                             @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                             @Value("${idempotency.max-body-size:1MB}") DataSize maxBodySize,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.maxBodyBytes = Math.toIntExact(maxBodySize.toBytes());
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.replayed = outcomeCounter(meterRegistry, "replayed");
+        this.conflicts = outcomeCounter(meterRegistry, "in_progress");
+        this.mismatches = outcomeCounter(meterRegistry, "mismatch");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        String contentType = request.getContentType();
+        return request.getHeader(HEADER) == null
+                || !("POST".equals(method) || "PATCH".equals(method))
+                || !uri.startsWith("/api/")
+                || uri.startsWith("/api/auth/")
+                || (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST, "Bad Request",
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Read one byte past the limit to tell a body of exactly the limit from a larger one
+        byte[] body = request.getContentLengthLong() > maxBodyBytes
+                ? null : request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large",
+                    "Requests with an " + HEADER + " may have a body of at most " + maxBodyBytes + " bytes");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String key = sha256(String.join("\n", currentUser(), request.getMethod(), request.getRequestURI(), idempotencyKey)
+                .getBytes(StandardCharsets.UTF_8));
+        String fingerprint = sha256(cachedRequest.fingerprintSource());
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            Optional<IdempotencyStore.Entry> existing = store.find(key);
+            if (existing.isPresent()) {
+                IdempotencyStore.Entry entry = existing.get();
+                if (!entry.fingerprint().equals(fingerprint)) {
+                    mismatches.increment();
+                    writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity",
+                            HEADER + " has already been used for a different request");
+                    return;
+                }
+                if (entry.isCompleted()) {
+                    replayed.increment();
+                    replay(entry.response(), response);
+                    return;
+                }
+                if (!awaitInFlight(key, deadline)) {
+                    conflicts.increment();
+                    writeError(request, response, HttpStatus.CONFLICT, "Conflict",
+                            "A request with this " + HEADER + " is still being processed");
+                    return;
+                }
+            } else if (store.claim(key, fingerprint, lease)) {
+                execute(key, cachedRequest, response, filterChain);
+                return;
+            }
+        }
+    }
+
+    private void execute(String key, CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        inFlight.put(key, done);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            executed.increment();
+            if (responseWrapper.getStatus() < 500) {
+                store.complete(key, new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getHeader(HttpHeaders.ETAG),
+                        responseWrapper.getContentAsByteArray()), ttl);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            inFlight.remove(key, done);
+            done.complete(null);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Waits for the request holding the key to finish, or a poll interval if it runs on another
+     * instance. Returns {@code false} once the deadline has passed.
+     */
+    private boolean awaitInFlight(String key, long deadline) throws IOException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        CompletableFuture<Void> local = inFlight.get(key);
+        try {
+            if (local != null) {
+                local.get(remaining, TimeUnit.NANOSECONDS);
+            } else {
+                Thread.sleep(Math.min(POLL_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            }
+            return true;
+        } catch (TimeoutException ex) {
+            return false;
+        } catch (ExecutionException ex) {
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a request with the same " + HEADER, ex);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.eTag());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(LocalDateTime.now(), status.value(), error, message, request.getRequestURI()));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private static String sha256(byte[] input) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Holds the body read up front, so it can be fingerprinted and still be read by the
+     * controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        byte[] fingerprintSource() {
+            String query = getQueryString() != null ? getQueryString() : "";
+            byte[] prefix = (query + "\n").getBytes(StandardCharsets.UTF_8);
+            byte[] source = new byte[prefix.length + body.length];
+            System.arraycopy(prefix, 0, source, 0, prefix.length);
+            System.arraycopy(body, 0, source, prefix.length, body.length);
+            return source;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is in memory, so it is available as soon as the listener is set
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    Charset.forName(encoding)));
+        }
+    }
+}
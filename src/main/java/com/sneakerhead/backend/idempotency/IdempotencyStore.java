@@ -0,0 +1,38 @@
+package com.sneakerhead.backend.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Records idempotency keys and the responses of the requests that used them. A key is first
+ * claimed, which only one request can do, and then completed with its response or released if
+ * the request failed so that a retry executes it again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * The live record of a key, or empty if it was never claimed or has expired.
+     */
+    Optional<Entry> find(String key);
+
+    /**
+     * Claims a key for a request with the given fingerprint. Returns {@code false} if the key
+     * already has a live record. An unfinished claim expires after the lease.
+     */
+    boolean claim(String key, String fingerprint, Duration lease);
+
+    void complete(String key, StoredResponse response, Duration ttl);
+
+    void release(String key);
+
+    /**
+     * A claimed key: the fingerprint of the request that claimed it and its response, which is
+     * {@code null} while that request is still running.
+     */
+    record Entry(String fingerprint, StoredResponse response) {
+
+        public boolean isCompleted() {
+            return response != null;
+        }
+    }
+}
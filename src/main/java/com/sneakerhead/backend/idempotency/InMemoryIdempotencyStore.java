@@ -0,0 +1,76 @@
+package com.sneakerhead.backend.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency records in a bounded cache, each expiring after its own lease or TTL.
+ * Records are lost on restart and not shared between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Timed> records;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.memory.max-size:100000}") long maxSize,
+                                    MeterRegistry meterRegistry) {
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTimedOut())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, records, "idempotency-keys");
+    }
+
+    @Override
+    public Optional<Entry> find(String key) {
+        return Optional.ofNullable(records.getIfPresent(key)).map(Timed::entry);
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint, Duration lease) {
+        return records.asMap().putIfAbsent(key, new Timed(new Entry(fingerprint, null), lease)) == null;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Duration ttl) {
+        records.asMap().computeIfPresent(key,
+                (ignored, claimed) -> new Timed(new Entry(claimed.entry().fingerprint(), response), ttl));
+    }
+
+    @Override
+    public void release(String key) {
+        records.invalidate(key);
+    }
+
+    private record Timed(Entry entry, Duration timeToLive) {
+    }
+
+    private static final class UntilTimedOut implements Expiry<String, Timed> {
+
+        @Override
+        public long expireAfterCreate(String key, Timed value, long currentTime) {
+            return value.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Timed value, long currentTime, long currentDuration) {
+            return value.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Timed value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
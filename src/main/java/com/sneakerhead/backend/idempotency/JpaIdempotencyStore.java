@@ -0,0 +1,100 @@
+package com.sneakerhead.backend.idempotency;
+
+import com.sneakerhead.backend.entity.IdempotencyRecord;
+import com.sneakerhead.backend.repository.IdempotencyRecordRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency records in the database, so keys are honored across restarts and
+ * instances. The primary key decides which request claims a key. Expired records are
+ * ignored on lookup, replaced on claim and purged periodically.
+ * <p>
+ * Every statement runs in its own read-write transaction: a read-only one could be routed to
+ * a lagging replica and miss a claim that was just made.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Optional<Entry> find(String key) {
+        return transactionTemplate.execute(status -> repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(JpaIdempotencyStore::toEntry));
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint, Duration lease) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                repository.deleteExpired(key, now);
+                // persist rather than save: an existing row must fail the insert, not be merged
+                entityManager.persist(IdempotencyRecord.builder()
+                        .key(key)
+                        .fingerprint(fingerprint)
+                        .expiresAt(now.plus(lease))
+                        .build());
+                entityManager.flush();
+                return true;
+            }));
+        } catch (PersistenceException | DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Duration ttl) {
+        transactionTemplate.executeWithoutResult(status -> repository.complete(key, response.status(),
+                response.contentType(), response.location(), response.eTag(), response.body(),
+                LocalDateTime.now().plus(ttl)));
+    }
+
+    @Override
+    public void release(String key) {
+        transactionTemplate.executeWithoutResult(status -> repository.deleteById(key));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteAllExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private static Entry toEntry(IdempotencyRecord record) {
+        if (record.getResponseStatus() == null) {
+            return new Entry(record.getFingerprint(), null);
+        }
+        return new Entry(record.getFingerprint(), new StoredResponse(record.getResponseStatus(),
+                record.getContentType(), record.getLocation(), record.getEtag(), record.getResponseBody()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.sneakerhead.backend.idempotency;
+
+/**
+ * The parts of a response replayed for a repeated request: status, the headers a client needs
+ * to locate or revalidate what was created, and the body.
+ */
+public record StoredResponse(int status, String contentType, String location, String eTag, byte[] body) {
+}
@@ -0,0 +1,39 @@
+package com.sneakerhead.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads entities by id through the second-level cache, reading only the ids it misses from
+ * the database in one query.
+ * <p>
+ * Cached list queries select ids and load the rows here, instead of caching the rows
+ * themselves: Hibernate's query cache keeps every column of a cached entity result, so
+ * a counter update would otherwise have to drop every cached list that includes the row.
+ */
+@Component
+public class CachedEntityLoader {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The entities with the given ids, in the same order, skipping ids that no longer exist.
+     */
+    public <T> List<T> findAllById(Class<T> entityType, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(entityType)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.sneakerhead.backend.repository;
+
+import com.sneakerhead.backend.entity.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findByJobIdOrderByRowNumber(Long jobId);
+
+    long countByJobId(Long jobId);
+}
@@ -0,0 +1,19 @@
+package com.sneakerhead.backend.repository;
+
+import com.sneakerhead.backend.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndOwnerId(Long id, Long ownerId);
+
+    List<ImportJob> findByOwnerIdOrderByCreatedAtDesc(Long ownerId);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+}
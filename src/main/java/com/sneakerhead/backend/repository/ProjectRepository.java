@@ -1,15 +1,60 @@
 package com.sneakerhead.backend.repository;
 
 import com.sneakerhead.backend.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    List<Project> findByTeamId(Long teamId);
+    // Cached as ids only, loaded through CachedEntityLoader, so counter updates leave it alone
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT p.id FROM Project p WHERE p.team.id = :teamId ORDER BY p.id")
+    List<Long> findIdsByTeamId(@Param("teamId") Long teamId);
 
     List<Project> findByStatus(Project.Status status);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Native, and synchronized on a space of its own instead of the projects table: a JPQL
+    // update would drop every cached team project list on each task write. CounterService
+    // evicts the one project it changed.
+    @Modifying
+    @Query(value = "UPDATE projects SET " +
+            "tasks_count = tasks_count + :total, " +
+            "open_tasks_count = open_tasks_count + :open, " +
+            "in_progress_tasks_count = in_progress_tasks_count + :inProgress, " +
+            "completed_tasks_count = completed_tasks_count + :completed, " +
+            "cancelled_tasks_count = cancelled_tasks_count + :cancelled " +
+            "WHERE id = :projectId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects_counters"))
+    int adjustTaskCounts(@Param("projectId") Long projectId,
+                         @Param("total") int total,
+                         @Param("open") int open,
+                         @Param("inProgress") int inProgress,
+                         @Param("completed") int completed,
+                         @Param("cancelled") int cancelled);
+
+    @Modifying
+    @Query("UPDATE Project p SET " +
+            "p.tasksCount = (SELECT COUNT(t) FROM Task t WHERE t.project = p), " +
+            "p.openTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.project = p " +
+            "AND t.status = OPEN), " +
+            "p.inProgressTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.project = p " +
+            "AND t.status = IN_PROGRESS), " +
+            "p.completedTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.project = p " +
+            "AND t.status = COMPLETED), " +
+            "p.cancelledTasksCount = (SELECT COUNT(t) FROM Task t WHERE t.project = p " +
+            "AND t.status = CANCELLED)")
+    int recomputeTaskCounts();
 }
@@ -0,0 +1,45 @@
+package com.sneakerhead.backend.repository;
+
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.TaskInboxEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskInboxRepository extends JpaRepository<TaskInboxEntry, Long>, JpaSpecificationExecutor<TaskInboxEntry> {
+
+    boolean existsByUserIdAndTaskId(Long userId, Long taskId);
+
+    @Modifying
+    @Query("DELETE FROM TaskInboxEntry e WHERE e.user.id = :userId AND e.task.id = :taskId")
+    int deleteEntry(@Param("userId") Long userId, @Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("UPDATE TaskInboxEntry e SET e.status = :status WHERE e.task.id = :taskId")
+    int updateStatus(@Param("taskId") Long taskId, @Param("status") Task.Status status);
+
+    // Native: an HQL INSERT ... SELECT into an entity with a sequence id needs a temporary
+    // table of ids that the schema does not have. NEXT VALUE FOR draws an id per row from the
+    // same sequence, whose values Hibernate's pooled allocations never hand out themselves.
+    @Modifying
+    @Query(value = "INSERT INTO task_inbox (id, user_id, task_id, status, task_created_at) " +
+            "SELECT NEXT VALUE FOR task_inbox_seq, t.creator_id, t.id, t.status, t.created_at FROM tasks t",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_inbox"))
+    int insertCreatorEntries();
+
+    @Modifying
+    @Query(value = "INSERT INTO task_inbox (id, user_id, task_id, status, task_created_at) " +
+            "SELECT NEXT VALUE FOR task_inbox_seq, t.assignee_id, t.id, t.status, t.created_at FROM tasks t " +
+            "WHERE t.assignee_id IS NOT NULL AND t.assignee_id <> t.creator_id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_inbox"))
+    int insertAssigneeEntries();
+}
@@ -1,15 +1,55 @@
 package com.sneakerhead.backend.repository;
 
 import com.sneakerhead.backend.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    @EntityGraph(attributePaths = {"project", "creator", "assignee"})
+    Optional<Task> findSummaryById(Long id);
+
+    @Query("SELECT t.version AS version, t.commentsCount AS commentsCount, " +
+            "t.attachmentsCount AS attachmentsCount, t.updatedAt AS updatedAt, p.version AS projectVersion, " +
+            "c.updatedAt AS creatorUpdatedAt, a.updatedAt AS assigneeUpdatedAt " +
+            "FROM Task t LEFT JOIN t.project p LEFT JOIN t.creator c LEFT JOIN t.assignee a WHERE t.id = :id")
+    Optional<TagRow> findTagById(@Param("id") Long id);
+
+    /**
+     * The columns a task's ETag is built from, including those of the project and users its
+     * responses embed.
+     */
+    interface TagRow {
+
+        Long getVersion();
+
+        Integer getCommentsCount();
+
+        Integer getAttachmentsCount();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getProjectVersion();
+
+        LocalDateTime getCreatorUpdatedAt();
+
+        LocalDateTime getAssigneeUpdatedAt();
+    }
 
     List<Task> findByAssigneeId(Long assigneeId);
 
@@ -21,10 +61,88 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findByAssigneeIdAndStatus(Long assigneeId, Task.Status status);
 
-    @Query("SELECT t FROM Task t WHERE t.assignee.id = :userId OR t.creator.id = :userId")
-    List<Task> findTasksByUserId(@Param("userId") Long userId);
+    @EntityGraph(attributePaths = {"project", "creator", "assignee"})
+    List<Task> findSummariesByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.status AS status FROM Task t")
+    Stream<TaskSearchRow> streamSearchRows();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p JOIN FETCH t.creator LEFT JOIN FETCH t.assignee " +
+            "WHERE p.id = :projectId ORDER BY t.id")
+    Stream<Task> streamByProjectId(@Param("projectId") Long projectId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.project p JOIN FETCH t.creator LEFT JOIN FETCH t.assignee " +
+            "WHERE p.team.id = :teamId ORDER BY t.id")
+    Stream<Task> streamByTeamId(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.commentsCount = t.commentsCount + :delta WHERE t.id = :taskId")
+    int adjustCommentsCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Task t SET " +
+            "t.commentsCount = (SELECT COUNT(c) FROM Comment c WHERE c.task = t), " +
+            "t.attachmentsCount = (SELECT COUNT(a) FROM Attachment a WHERE a.task = t)")
+    int recomputeChildCounts();
+
+    // Project statistics: each aggregate is answered from one of the idx_tasks_project_* indexes
+
+    @Query("SELECT t.priority AS priority, COUNT(t) AS count FROM Task t WHERE t.project.id = :projectId " +
+            "GROUP BY t.priority")
+    List<PriorityCountRow> countByPriority(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.assignee.id AS assigneeId, t.status AS status, COUNT(t) AS count FROM Task t " +
+            "WHERE t.project.id = :projectId GROUP BY t.assignee.id, t.status")
+    List<AssigneeCountRow> countByAssigneeAndStatus(@Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status IN :statuses " +
+            "AND t.dueDate < :now")
+    long countOverdue(@Param("projectId") Long projectId,
+                      @Param("statuses") Collection<Task.Status> statuses,
+                      @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status " +
+            "AND t.completedAt >= :since")
+    long countCompletedSince(@Param("projectId") Long projectId,
+                             @Param("status") Task.Status status,
+                             @Param("since") LocalDateTime since);
+
+    interface PriorityCountRow {
+
+        Task.Priority getPriority();
+
+        long getCount();
+    }
+
+    /**
+     * Tasks of one assignee in one status; the assignee is {@code null} for unassigned tasks.
+     */
+    interface AssigneeCountRow {
+
+        Long getAssigneeId();
+
+        Task.Status getStatus();
+
+        long getCount();
+    }
+
+    interface TaskSearchRow {
+
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
 
-    @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Task> searchTasks(@Param("keyword") String keyword);
+        Task.Status getStatus();
+    }
 }
@@ -0,0 +1,37 @@
+package com.sneakerhead.backend.repository;
+
+import com.sneakerhead.backend.entity.Task;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Columns a task listing can be ordered by. Every key is paired with the task id
+ * as a tie-breaker so that (key, id) is unique and can be used as a keyset cursor.
+ */
+@Getter
+public enum TaskSortKey {
+
+    CREATED_AT("createdAt", Task::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", Task::getUpdatedAt, LocalDateTime::parse),
+    TITLE("title", Task::getTitle, value -> value);
+
+    private final String property;
+    private final Function<Task, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    TaskSortKey(String property, Function<Task, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String format(Task task) {
+        return String.valueOf(extractor.apply(task));
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sneakerhead.backend.repository;
+
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.entity.Task;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Fetch-joins the to-one associations a task listing renders so a page is loaded in one statement.
+     */
+    public static Specification<Task> fetchSummary() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("project", JoinType.LEFT);
+                root.fetch("creator", JoinType.LEFT);
+                root.fetch("assignee", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Task> hasStatus(Task.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasStatusIn(Collection<Task.Status> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> hasPriorityIn(Collection<Task.Priority> priorities) {
+        return (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> assignedTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("assignee").get("id"), userId);
+    }
+
+    public static Specification<Task> createdBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("creator").get("id"), userId);
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    /**
+     * Restricts to the team's projects through a subquery so the outer query stays a
+     * project_id range scan rather than a join on projects.
+     */
+    public static Specification<Task> inTeam(Long teamId) {
+        return (root, query, cb) -> {
+            Subquery<Long> projectIds = query.subquery(Long.class);
+            Root<Project> project = projectIds.from(Project.class);
+            projectIds.select(project.get("id")).where(cb.equal(project.get("team").get("id"), teamId));
+            return root.get("project").get("id").in(projectIds);
+        };
+    }
+
+    public static Specification<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        return between("dueDate", from, to);
+    }
+
+    public static Specification<Task> completedBetween(LocalDateTime from, LocalDateTime to) {
+        return between("completedAt", from, to);
+    }
+
+    private static Specification<Task> between(String property, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> path = root.get(property);
+            if (from != null && to != null) {
+                return cb.between(path, from, to);
+            }
+            return from != null ? cb.greaterThanOrEqualTo(path, from) : cb.lessThanOrEqualTo(path, to);
+        };
+    }
+
+    /**
+     * Keyset predicate selecting the rows that come strictly after (value, id) in the given order.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Task> after(TaskSortKey sortKey, Sort.Direction direction, Comparable value, Long id) {
+        return (root, query, cb) -> {
+            Path<Comparable> key = root.get(sortKey.getProperty());
+            Path<Long> taskId = root.get("id");
+
+            Predicate beyond = direction.isAscending() ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate tieBreak = direction.isAscending() ? cb.greaterThan(taskId, id) : cb.lessThan(taskId, id);
+
+            return cb.or(beyond, cb.and(cb.equal(key, value), tieBreak));
+        };
+    }
+}
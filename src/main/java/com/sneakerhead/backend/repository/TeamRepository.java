@@ -1,20 +1,70 @@
 package com.sneakerhead.backend.repository;
 
+import com.sneakerhead.backend.dto.response.Versioned;
 import com.sneakerhead.backend.entity.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
     List<Team> findByOwnerId(Long ownerId);
 
-    @Query("SELECT t FROM Team t JOIN t.members m WHERE m.id = :userId")
-    List<Team> findTeamsByMemberId(@Param("userId") Long userId);
+    // Cached as ids only, loaded through CachedEntityLoader, so counter updates leave it alone
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT t.id FROM Team t JOIN t.members m WHERE m.id = :userId ORDER BY t.id")
+    List<Long> findTeamIdsByMemberId(@Param("userId") Long userId);
+
+    @Query("SELECT t.id AS id, t.version AS version, t.projectsCount AS projectsCount, t.updatedAt AS updatedAt, " +
+            "o.updatedAt AS ownerUpdatedAt, " +
+            "(SELECT MAX(u.updatedAt) FROM Team mt JOIN mt.members u WHERE mt = t) AS membersUpdatedAt " +
+            "FROM Team t JOIN t.owner o WHERE t.id = :id")
+    Optional<TagRow> findTagById(@Param("id") Long id);
+
+    @Query("SELECT t.id AS id, t.version AS version, t.projectsCount AS projectsCount, t.updatedAt AS updatedAt, " +
+            "o.updatedAt AS ownerUpdatedAt, " +
+            "(SELECT MAX(u.updatedAt) FROM Team mt JOIN mt.members u WHERE mt = t) AS membersUpdatedAt " +
+            "FROM Team t JOIN t.owner o JOIN t.members m WHERE m.id = :userId ORDER BY t.id")
+    List<TagRow> findTagsByMemberId(@Param("userId") Long userId);
+
+    /**
+     * The columns a team's ETag is built from, including the latest change of its owner and
+     * members, tagged the same way as {@code TeamResponse}.
+     */
+    interface TagRow extends Versioned {
+
+        Integer getProjectsCount();
+
+        LocalDateTime getOwnerUpdatedAt();
+
+        LocalDateTime getMembersUpdatedAt();
+
+        @Override
+        default Object[] tagState() {
+            return new Object[]{getProjectsCount(), Versioned.references(getOwnerUpdatedAt(), getMembersUpdatedAt())};
+        }
+    }
 
     List<Team> findByActiveTrue();
+
+    // Native, and synchronized on a space of its own instead of the teams table, so Hibernate
+    // does not drop every cached team and team query; CounterService evicts the one it changed
+    @Modifying
+    @Query(value = "UPDATE teams SET projects_count = projects_count + :delta WHERE id = :teamId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teams_counters"))
+    int adjustProjectsCount(@Param("teamId") Long teamId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.projectsCount = (SELECT COUNT(p) FROM Project p WHERE p.team = t)")
+    int recomputeProjectsCount();
 }
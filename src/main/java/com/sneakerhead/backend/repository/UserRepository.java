@@ -2,8 +2,11 @@ package com.sneakerhead.backend.repository;
 
 import com.sneakerhead.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,6 +16,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionRow> findTokenVersions();
+
+    interface TokenVersionRow {
+
+        Long getId();
+
+        Integer getTokenVersion();
+    }
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
@@ -0,0 +1,16 @@
+package com.sneakerhead.backend.responsecache;
+
+import com.sneakerhead.backend.util.ResponseValidators;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A serialized JSON body, with the validators of the representation if it has any.
+ */
+public record CachedJson(byte[] body, ResponseValidators validators) {
+
+    public ResponseEntity<byte[]> toResponse() {
+        ResponseEntity.BodyBuilder response = validators != null ? validators.ok() : ResponseEntity.ok();
+        return response.contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
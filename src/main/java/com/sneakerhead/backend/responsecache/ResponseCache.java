@@ -0,0 +1,233 @@
+package com.sneakerhead.backend.responsecache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.sneakerhead.backend.config.ReadRouting;
+import com.sneakerhead.backend.util.ResponseValidators;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serialized JSON bodies of hot read endpoints, keyed by endpoint and parameters. A hit is
+ * written out as is, without touching the database, the mapper or Jackson. The cache holds at
+ * most {@code response-cache.max-size} bytes, evicting by Caffeine's frequency and recency
+ * policy, and entries expire after {@code response-cache.ttl}.
+ * <p>
+ * Each entry is tagged with the rows its body was built from (see {@link ResponseTags}) and
+ * dropped when {@link ResponseCacheInvalidator} sees one of them change. A miss whose load
+ * raced such an invalidation is served but not cached, so a body read before a commit never
+ * outlives it.
+ * <p>
+ * Keys are scoped by the caller's authorities, so a hit is only served to callers with the
+ * same authorization as the caller whose request loaded it. Bodies that differ between
+ * individual users of the same role must not be cached here.
+ * <p>
+ * Hits, misses and evictions are published as the "responses" cache metrics, the cached
+ * bytes as {@code response.cache.size}.
+ */
+@Component
+public class ResponseCache {
+
+    // Invalidations are remembered for this long and this many, to catch loads they overtook;
+    // a load that spans more than either is not cached
+    private static final Duration INVALIDATION_MEMORY = Duration.ofMinutes(1);
+    private static final long MAX_REMEMBERED_INVALIDATIONS = 100_000;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final Map<String, Set<Entry>> entriesByTag = new ConcurrentHashMap<>();
+    private final Cache<String, Long> invalidatedAt;
+    private final AtomicLong clock = new AtomicLong();
+    private final Counter invalidations;
+
+    public ResponseCache(ObjectMapper objectMapper,
+                         @Value("${response-cache.enabled:true}") boolean enabled,
+                         @Value("${response-cache.max-size:32MB}") DataSize maxSize,
+                         @Value("${response-cache.ttl:5m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        untag(entry);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(INVALIDATION_MEMORY)
+                .maximumSize(MAX_REMEMBERED_INVALIDATIONS)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+        Gauge.builder("response.cache.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Bytes of serialized responses held by the response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("response.cache.invalidations")
+                .description("Cached responses dropped because a row they were built from changed")
+                .register(meterRegistry);
+    }
+
+    public boolean contains(String key) {
+        return enabled && cache.getIfPresent(scoped(key)) != null;
+    }
+
+    /**
+     * Returns the cached body, or loads, serializes and caches it under the tags of the loaded
+     * value. Nothing is cached when the loader throws.
+     */
+    public <T> CachedJson get(String key, Supplier<T> loader, Function<T, Collection<String>> tags) {
+        return get(key, loader, tags, value -> null);
+    }
+
+    /**
+     * Like {@link #get(String, Supplier, Function)}, keeping the ETag and Last-Modified of the
+     * body with it.
+     */
+    public <T> CachedJson get(String key, Supplier<T> loader, Function<T, Collection<String>> tags,
+                              Function<T, ResponseValidators> validators) {
+        String scopedKey = scoped(key);
+        if (enabled) {
+            Entry hit = cache.getIfPresent(scopedKey);
+            if (hit != null) {
+                return hit.json;
+            }
+        }
+        long loadedAt = clock.get();
+        long startNanos = System.nanoTime();
+        // Loaded on the primary: a body read from a lagging replica would outlive the invalidation
+        T value = ReadRouting.onPrimary(loader);
+        CachedJson json = new CachedJson(serialize(value), validators.apply(value));
+        if (enabled && System.nanoTime() - startNanos < INVALIDATION_MEMORY.toNanos()) {
+            store(new Entry(scopedKey, json, Set.copyOf(tags.apply(value))), loadedAt);
+        }
+        return json;
+    }
+
+    /**
+     * Drops every response built from the tagged row.
+     */
+    public void invalidate(String tag) {
+        invalidatedAt.put(tag, clock.incrementAndGet());
+        Set<Entry> entries = entriesByTag.remove(tag);
+        if (entries == null) {
+            return;
+        }
+        for (Entry entry : entries) {
+            if (cache.asMap().remove(entry.key, entry)) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void store(Entry entry, long loadedAt) {
+        // Indexed before it is visible, so an invalidation that misses the check below finds it.
+        // Added inside compute, so untagging an evicted entry cannot drop the set under it
+        for (String tag : entry.tags) {
+            entriesByTag.compute(tag, (t, entries) -> {
+                Set<Entry> tagged = entries != null ? entries : ConcurrentHashMap.newKeySet();
+                tagged.add(entry);
+                return tagged;
+            });
+        }
+        cache.put(entry.key, entry);
+        if (invalidatedSince(entry.tags, loadedAt)) {
+            cache.asMap().remove(entry.key, entry);
+        }
+    }
+
+    private boolean invalidatedSince(Set<String> tags, long loadedAt) {
+        if (clock.get() - loadedAt >= MAX_REMEMBERED_INVALIDATIONS) {
+            return true;
+        }
+        for (String tag : tags) {
+            Long at = invalidatedAt.getIfPresent(tag);
+            if (at != null && at > loadedAt) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void untag(Entry entry) {
+        for (String tag : entry.tags) {
+            entriesByTag.computeIfPresent(tag, (t, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+    }
+
+    // Authorities in a fixed order, e.g. "ROLE_USER|teams/1"
+    private static String scoped(String key) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return "|" + key;
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(",", "", "|" + key));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A cached body with its key and tags. Compared by identity, so removing an entry from the
+     * cache or the tag index never removes a newer entry stored under the same key.
+     */
+    private static final class Entry {
+
+        // Rough per-entry overhead of the key, tags and map nodes
+        private static final int OVERHEAD_BYTES = 256;
+
+        private final String key;
+        private final CachedJson json;
+        private final Set<String> tags;
+
+        Entry(String key, CachedJson json, Set<String> tags) {
+            this.key = key;
+            this.json = json;
+            this.tags = tags;
+        }
+
+        int weight() {
+            return json.body().length + OVERHEAD_BYTES;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sneakerhead.backend.responsecache;
+
+import com.sneakerhead.backend.event.CommentChangedEvent;
+import com.sneakerhead.backend.event.ProjectChangedEvent;
+import com.sneakerhead.backend.event.TaskDeletedEvent;
+import com.sneakerhead.backend.event.TeamChangedEvent;
+import com.sneakerhead.backend.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops the cached responses built from a row once the transaction that changed it has
+ * committed; a rolled back change drops nothing. Events published outside a transaction are
+ * handled at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator {
+
+    private final ResponseCache responseCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void teamChanged(TeamChangedEvent event) {
+        responseCache.invalidate(ResponseTags.team(event.teamId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void projectChanged(ProjectChangedEvent event) {
+        responseCache.invalidate(ResponseTags.project(event.projectId()));
+        if (event.teamId() != null) {
+            responseCache.invalidate(ResponseTags.teamProjects(event.teamId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void taskDeleted(TaskDeletedEvent event) {
+        responseCache.invalidate(ResponseTags.task(event.taskId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void commentChanged(CommentChangedEvent event) {
+        responseCache.invalidate(ResponseTags.task(event.taskId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void userChanged(UserChangedEvent event) {
+        responseCache.invalidate(ResponseTags.user(event.userId()));
+    }
+}
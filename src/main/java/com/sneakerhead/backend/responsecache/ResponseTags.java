@@ -0,0 +1,73 @@
+package com.sneakerhead.backend.responsecache;
+
+import com.sneakerhead.backend.dto.response.CommentResponse;
+import com.sneakerhead.backend.dto.response.ProjectResponse;
+import com.sneakerhead.backend.dto.response.TeamResponse;
+import com.sneakerhead.backend.dto.response.UserResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tags cached responses are filed under: one per row whose columns appear in the body.
+ */
+public final class ResponseTags {
+
+    private ResponseTags() {
+    }
+
+    public static String team(Long teamId) {
+        return "team:" + teamId;
+    }
+
+    /**
+     * Which projects belong to the team; changes when one is added, removed or edited.
+     */
+    public static String teamProjects(Long teamId) {
+        return "team-projects:" + teamId;
+    }
+
+    public static String project(Long projectId) {
+        return "project:" + projectId;
+    }
+
+    public static String task(Long taskId) {
+        return "task:" + taskId;
+    }
+
+    public static String user(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static List<String> of(TeamResponse team) {
+        List<String> tags = new ArrayList<>();
+        tags.add(team(team.getId()));
+        addUser(tags, team.getOwner());
+        if (team.getMembers() != null) {
+            team.getMembers().forEach(member -> addUser(tags, member));
+        }
+        return tags;
+    }
+
+    public static List<String> ofTeamProjects(Long teamId, List<ProjectResponse> projects) {
+        List<String> tags = new ArrayList<>();
+        // The team's name is part of every project
+        tags.add(team(teamId));
+        tags.add(teamProjects(teamId));
+        projects.forEach(project -> tags.add(project(project.getId())));
+        return tags;
+    }
+
+    public static List<String> ofComments(Long taskId, List<CommentResponse> comments) {
+        List<String> tags = new ArrayList<>();
+        tags.add(task(taskId));
+        comments.forEach(comment -> addUser(tags, comment.getUser()));
+        return tags;
+    }
+
+    private static void addUser(List<String> tags, UserResponse user) {
+        if (user != null) {
+            tags.add(user(user.getId()));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.sneakerhead.backend.search;
+
+import com.sneakerhead.backend.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over task titles and descriptions with BM25 ranking.
+ * <p>
+ * Queries are conjunctive: every term must match. The last term of a query that does not
+ * end in whitespace is treated as a prefix so results follow the user while typing.
+ * Title terms count double towards term frequency and document length.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparing(Hit::getTaskId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${search.index.max-prefix-expansions:64}")
+    private int maxPrefixExpansions;
+
+    private Segment segment = new Segment();
+
+    // Updates that arrive while a rebuild is loading; replayed onto the new segment before it goes live
+    private List<Consumer<Segment>> pendingUpdates;
+
+    public void put(Long taskId, String title, String description, Task.Status status) {
+        List<String> titleTerms = Tokenizer.tokenize(title);
+        List<String> descriptionTerms = Tokenizer.tokenize(description);
+        apply(target -> target.put(taskId, titleTerms, descriptionTerms, status));
+    }
+
+    public void remove(Long taskId) {
+        apply(target -> target.remove(taskId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ranked by descending score then ascending task id,
+     * starting strictly after ({@code afterScore}, {@code afterId}) when both are given.
+     */
+    public List<Hit> search(String query, Task.Status status, Double afterScore, Long afterId, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        boolean prefixLast = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            int documentCount = segment.documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) segment.totalLength / documentCount;
+
+            // One clause per query term; a prefix clause holds the postings of every expansion
+            List<List<Map<Long, Integer>>> clauses = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                List<Map<Long, Integer>> clause = i == terms.size() - 1 && prefixLast
+                        ? segment.expand(terms.get(i), maxPrefixExpansions)
+                        : segment.exact(terms.get(i));
+                if (clause.isEmpty()) {
+                    return List.of();
+                }
+                clauses.add(clause);
+            }
+            clauses.sort(Comparator.comparingInt(clause -> clause.stream().mapToInt(Map::size).sum()));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            Set<Long> seen = clauses.get(0).size() > 1 ? new HashSet<>() : null;
+
+            for (Map<Long, Integer> postings : clauses.get(0)) {
+                for (Long taskId : postings.keySet()) {
+                    if (seen != null && !seen.add(taskId)) {
+                        continue;
+                    }
+                    Document document = segment.documents.get(taskId);
+                    if (status != null && document.status != status) {
+                        continue;
+                    }
+
+                    double score = 0;
+                    boolean matchesAll = true;
+                    for (List<Map<Long, Integer>> clause : clauses) {
+                        double best = -1;
+                        for (Map<Long, Integer> termPostings : clause) {
+                            Integer frequency = termPostings.get(taskId);
+                            if (frequency != null) {
+                                best = Math.max(best, bm25(frequency, termPostings.size(), documentCount,
+                                        document.length, averageLength));
+                            }
+                        }
+                        if (best < 0) {
+                            matchesAll = false;
+                            break;
+                        }
+                        score += best;
+                    }
+                    if (!matchesAll) {
+                        continue;
+                    }
+
+                    if (afterScore != null && !(score < afterScore || (score == afterScore && taskId > afterId))) {
+                        continue;
+                    }
+
+                    top.add(new Hit(taskId, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Starts loading a fresh segment. Searches keep using the current segment, and incremental
+     * updates made meanwhile are replayed onto the new one when {@link Rebuild#complete()} swaps it in.
+     */
+    public Rebuild startRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild();
+    }
+
+    private void apply(Consumer<Segment> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(segment);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static double bm25(int frequency, int documentFrequency, int documentCount,
+                               int documentLength, double averageLength) {
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double norm = frequency + K1 * (1 - B + B * documentLength / averageLength);
+        return idf * frequency * (K1 + 1) / norm;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+
+        private final Long taskId;
+        private final double score;
+    }
+
+    public class Rebuild {
+
+        private final Segment loading = new Segment();
+
+        public void add(Long taskId, String title, String description, Task.Status status) {
+            loading.put(taskId, Tokenizer.tokenize(title), Tokenizer.tokenize(description), status);
+        }
+
+        public void complete() {
+            lock.writeLock().lock();
+            try {
+                pendingUpdates.forEach(update -> update.accept(loading));
+                pendingUpdates = null;
+                segment = loading;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static final class Document {
+
+        private final String[] terms;
+        private final int length;
+        private final Task.Status status;
+
+        private Document(String[] terms, int length, Task.Status status) {
+            this.terms = terms;
+            this.length = length;
+            this.status = status;
+        }
+    }
+
+    private static final class Segment {
+
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private long totalLength;
+
+        private void put(Long taskId, List<String> titleTerms, List<String> descriptionTerms, Task.Status status) {
+            remove(taskId);
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            titleTerms.forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+            descriptionTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(taskId, frequency));
+
+            int length = titleTerms.size() * TITLE_WEIGHT + descriptionTerms.size();
+            documents.put(taskId, new Document(frequencies.keySet().toArray(new String[0]), length, status));
+            totalLength += length;
+        }
+
+        private void remove(Long taskId) {
+            Document document = documents.remove(taskId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                termPostings.remove(taskId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= document.length;
+        }
+
+        private List<Map<Long, Integer>> exact(String term) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            return termPostings != null ? List.of(termPostings) : List.of();
+        }
+
+        private List<Map<Long, Integer>> expand(String prefix, int maxExpansions) {
+            List<Map<Long, Integer>> expansions = new ArrayList<>();
+            for (Map<Long, Integer> termPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                if (expansions.size() == maxExpansions) {
+                    break;
+                }
+                expansions.add(termPostings);
+            }
+            return expansions;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sneakerhead.backend.search;
+
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+/**
+ * Feeds {@link TaskSearchIndex} from the task write paths and rebuilds it from the database at startup.
+ * Incremental updates are applied only once the surrounding transaction commits, so rolled-back
+ * writes never become searchable.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndexer {
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+
+    @Value("${search.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    public void taskSaved(Task task) {
+        Long taskId = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        Task.Status status = task.getStatus();
+        afterCommit(() -> searchIndex.put(taskId, title, description, status));
+    }
+
+    public void taskDeleted(Long taskId) {
+        afterCommit(() -> searchIndex.remove(taskId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        TaskSearchIndex.Rebuild rebuild = searchIndex.startRebuild();
+
+        try (Stream<TaskRepository.TaskSearchRow> rows = taskRepository.streamSearchRows()) {
+            rows.forEach(row -> rebuild.add(row.getId(), row.getTitle(), row.getDescription(), row.getStatus()));
+        }
+        rebuild.complete();
+
+        log.info("Indexed {} tasks for search in {} ms", searchIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.sneakerhead.backend.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt encoder whose stored hashes are upgraded on the next login when their cost is below
+ * the configured strength. Hashes are never weakened: a calibrated strength differs between
+ * instances on different hardware, and a slower instance must not undo a faster one's upgrade.
+ * The strength can be fixed or calibrated at startup to a target hash time on the current
+ * hardware.
+ */
+@Slf4j
+@Getter
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final int PROBE_STRENGTH = 6;
+    private static final int PROBE_ROUNDS = 5;
+    private static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Picks the strength whose hash time is closest to the target, never below the minimum.
+     * Each step doubles the work, so the time of a cheap probe hash is scaled up rather than
+     * hashing at every candidate strength.
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration targetTime, int minStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double steps = Math.log((double) targetTime.toNanos() / best) / Math.log(2);
+        int strength = Math.max(minStrength, Math.min(MAX_STRENGTH, PROBE_STRENGTH + (int) Math.round(steps)));
+        log.info("Calibrated BCrypt strength {} for a target hash time of {} ms (probe {} us at strength {})",
+                strength, targetTime.toMillis(), best / 1000, PROBE_STRENGTH);
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Integer cost = costOf(encodedPassword);
+        return cost != null && cost < strength;
+    }
+
+    // Hashes look like $2a$10$<salt and hash>
+    private static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return null;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -1,84 +1,234 @@
 package com.sneakerhead.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sneakerhead.backend.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and validates HS256 tokens. The signing key and parser are built once; a token is
+ * verified at most once and its claims are then served from a bounded cache until the token
+ * expires, so repeated requests with the same token skip parsing and the HMAC.
+ * <p>
+ * With {@code jwt.stateless} enabled, tokens also carry the user id, role and token version,
+ * which is enough to authenticate a request without loading the user. Off by default: such a
+ * token is revoked through the in-memory {@link TokenVersionTable}, which other instances only
+ * pick up on their next reload.
+ * <p>
+ * Refresh tokens are signed with the same key but marked with a "typ" claim and a random id,
+ * and are rejected as access tokens. They are verified on refresh only and never cached.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final Cache<String, Claims> verifiedTokens;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.cache.max-size:10000}") long cacheSize,
+                            MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-tokens");
+    }
+
+    /**
+     * Verifies the signature and expiry of an access token and returns its claims, or empty if
+     * the token is malformed, forged, expired or a refresh token.
+     */
+    public Optional<Claims> validate(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims != null) {
+            // An entry can outlive its token by up to one cache maintenance cycle
+            return claims.getExpiration() == null || claims.getExpiration().after(new Date())
+                    ? Optional.of(claims) : Optional.empty();
+        }
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return Optional.empty();
+        }
+        verifiedTokens.put(token, claims);
+        return Optional.of(claims);
+    }
+
+    /**
+     * Verifies a refresh token and returns its claims, or empty if it is invalid, expired or
+     * an access token. Revocation is checked by the caller.
+     */
+    public Optional<Claims> validateRefreshToken(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (!REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM)) || refreshTokenId(claims) == null
+                || claims.get(USER_ID_CLAIM, Long.class) == null || claims.get(TOKEN_VERSION_CLAIM, Integer.class) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    public UUID refreshTokenId(Claims claims) {
+        try {
+            return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    public Long userId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
+    public int tokenVersion(Claims claims) {
+        return claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return validate(token).map(claimsResolver).orElse(null);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (stateless && userDetails instanceof UserPrincipal principal) {
+            claims.put(USER_ID_CLAIM, principal.getId());
+            claims.put(ROLE_CLAIM, principal.getRole().name());
+            claims.put(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    /**
+     * Issues a refresh token. It always carries the user id and token version, whatever
+     * {@code jwt.stateless} says, so that a role change or deactivation also revokes it.
+     */
+    public String generateRefreshToken(UserPrincipal principal) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(USER_ID_CLAIM, principal.getId());
+        claims.put(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+        return Jwts
+                .builder()
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(principal.getUsername())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + refreshExpiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    public long getExpirationSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(jwtExpiration);
+    }
+
     private String buildToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails,
             long expiration) {
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(extraClaims)
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Builds the principal from the claims of a stateless token, or returns {@code null} for
+     * tokens issued without them. Revocation is checked separately against the token version.
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (!stateless || userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return new UserPrincipal(userId, claims.getSubject(), null, User.Role.valueOf(role), true, tokenVersion);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return validate(token)
+                .map(claims -> userDetails.getUsername().equals(claims.getSubject()))
+                .orElse(false);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
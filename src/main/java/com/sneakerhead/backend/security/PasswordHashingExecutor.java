@@ -0,0 +1,90 @@
+package com.sneakerhead.backend.security;
+
+import com.sneakerhead.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (login and registration) on a small fixed pool instead of request
+ * threads, so a burst of logins occupies at most one thread per core and ordinary API requests
+ * keep their workers. Waiting work is served first come, first served from a bounded queue;
+ * when the queue is full, or a task waited longer than the client is likely to, the request
+ * fails fast with 503 instead of piling up.
+ * <p>
+ * Queue depth, active threads and execution times are published as the "password-hashing"
+ * executor metrics, rejections as {@code password.hashing.rejected}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final long queueTimeoutNanos;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password-hashing.queue-timeout:2s}") Duration queueTimeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity, true),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Login and registration requests turned away because password hashing was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the work and returns its result asynchronously, or throws
+     * {@link ServiceBusyException} right away when the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                if (System.nanoTime() - queuedAt > queueTimeoutNanos) {
+                    rejected.increment();
+                    result.completeExceptionally(busy());
+                    return;
+                }
+                try {
+                    result.complete(work.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw busy();
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private static ServiceBusyException busy() {
+        return new ServiceBusyException("Too many sign-in requests, please retry shortly");
+    }
+}
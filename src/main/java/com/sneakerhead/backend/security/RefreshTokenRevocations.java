@@ -0,0 +1,71 @@
+package com.sneakerhead.backend.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ids of refresh tokens that were rotated or logged out, bucketed by the token's expiry.
+ * A revoked id only needs to be remembered until its token expires, so whole buckets are
+ * dropped once the last token they can hold has expired and the list never grows beyond the
+ * tokens revoked within one refresh token lifetime.
+ * <p>
+ * Only consulted on refresh and logout; access tokens are short-lived and never checked here.
+ * Held in memory, so revocations are lost on restart and not shared between instances.
+ */
+@Component
+public class RefreshTokenRevocations {
+
+    private final long bucketWidth;
+    private final ConcurrentNavigableMap<Long, Set<UUID>> buckets = new ConcurrentSkipListMap<>();
+
+    public RefreshTokenRevocations(@Value("${jwt.refresh-revocation.bucket-width:1h}") Duration bucketWidth,
+                                   MeterRegistry meterRegistry) {
+        this.bucketWidth = bucketWidth.toMillis();
+        Gauge.builder("jwt.refresh.revoked", this, RefreshTokenRevocations::size)
+                .description("Refresh token ids held in the revocation list")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(UUID tokenId, Date expiration) {
+        Set<UUID> bucket = buckets.get(bucketOf(expiration.getTime()));
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    /**
+     * Revokes a token and returns {@code false} if it already was, so that of two concurrent
+     * refreshes with the same token only one succeeds.
+     */
+    public boolean revoke(UUID tokenId, Date expiration) {
+        if (expiration.getTime() <= System.currentTimeMillis()) {
+            // Already unusable; its bucket may be gone
+            return true;
+        }
+        return buckets.computeIfAbsent(bucketOf(expiration.getTime()), key -> ConcurrentHashMap.newKeySet())
+                .add(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-revocation.purge-interval:600000}")
+    public void purgeExpired() {
+        // A bucket holds expiries up to the end of its interval; the current bucket may still be live
+        buckets.headMap(bucketOf(System.currentTimeMillis())).clear();
+    }
+
+    private long bucketOf(long expirationMillis) {
+        return expirationMillis / bucketWidth;
+    }
+
+    private long size() {
+        return buckets.values().stream().mapToLong(Set::size).sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.sneakerhead.backend.security;
+
+import com.sneakerhead.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version of every user, checked against the "ver" claim of stateless tokens.
+ * Only users whose version was ever bumped have an entry; everyone else is at version 0,
+ * so the table stays proportional to the number of revocations rather than users.
+ * <p>
+ * Loaded from the users table at startup and kept current by {@link UserCacheInvalidator}.
+ * With several application instances, a bump made by another instance is only seen once the
+ * table is reloaded, every {@code jwt.token-versions.refresh-interval}; a deleted user's tokens
+ * are only revoked on the instance that deleted it and lapse elsewhere when they expire.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionTable {
+
+    // Version of removed users; no token carries it
+    public static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    // Only stateless tokens are checked here, so only then do bumps from other instances matter
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    @PostConstruct
+    void load() {
+        userRepository.findTokenVersions().forEach(row -> versions.put(row.getId(), row.getTokenVersion()));
+        log.debug("Loaded token versions for {} users", versions.size());
+    }
+
+    /**
+     * Picks up the bumps committed by other instances. Versions only grow, so a reload never
+     * undoes a newer local bump.
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-versions.refresh-interval:10000}")
+    public void refresh() {
+        if (stateless) {
+            userRepository.findTokenVersions().forEach(row -> update(row.getId(), row.getTokenVersion()));
+        }
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return versions.getOrDefault(userId, 0) == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        if (tokenVersion == REVOKED) {
+            versions.put(userId, REVOKED);
+        } else if (tokenVersion > 0) {
+            versions.merge(userId, tokenVersion, (current, updated) -> current == REVOKED ? current : Math.max(current, updated));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sneakerhead.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sneakerhead.backend.config.ReadRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of {@link UserPrincipal}s by username, shared by the JWT filter
+ * and login. Entries are dropped when the user row changes (see {@link UserCacheInvalidator});
+ * the TTL bounds staleness from writes that bypass JPA. Hit, miss and eviction counts are
+ * published as the "users" cache metrics.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${security.user-cache.ttl:5m}") Duration ttl,
+                     @Value("${security.user-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss from the primary, so a role change or
+     * deactivation is not undone by a lagging replica. Nothing is cached when the loader throws.
+     */
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        return cache.get(username, name -> ReadRouting.onPrimary(() -> loader.apply(name)));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
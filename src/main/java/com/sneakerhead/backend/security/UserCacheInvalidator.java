@@ -0,0 +1,59 @@
+package com.sneakerhead.backend.security;
+
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.event.UserChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user's cached principal whenever the row is updated or removed, whichever service
+ * made the change. The entry is dropped again after commit so a request that reloaded the
+ * old row in the meantime cannot leave it cached. Committed token version bumps are
+ * published to the {@link TokenVersionTable}, and every change as a {@link UserChangedEvent}.
+ */
+public class UserCacheInvalidator {
+
+    private final UserCache userCache;
+    private final TokenVersionTable tokenVersions;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Created while the EntityManagerFactory is being built, before the repositories the table needs
+    public UserCacheInvalidator(UserCache userCache, @Lazy TokenVersionTable tokenVersions,
+                                ApplicationEventPublisher eventPublisher) {
+        this.userCache = userCache;
+        this.tokenVersions = tokenVersions;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    public void userUpdated(User user) {
+        userChanged(user.getUsername(), user.getId(), user.getTokenVersion());
+    }
+
+    @PostRemove
+    public void userRemoved(User user) {
+        userChanged(user.getUsername(), user.getId(), TokenVersionTable.REVOKED);
+    }
+
+    private void userChanged(String username, Long userId, int tokenVersion) {
+        userCache.invalidate(username);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokenVersions.update(userId, tokenVersion);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    tokenVersions.update(userId, tokenVersion);
+                }
+                userCache.invalidate(username);
+            }
+        });
+    }
+}
@@ -1,23 +1,28 @@
 package com.sneakerhead.backend.service;
 
 import com.sneakerhead.backend.dto.request.LoginRequest;
+import com.sneakerhead.backend.dto.request.RefreshTokenRequest;
 import com.sneakerhead.backend.dto.request.RegisterRequest;
 import com.sneakerhead.backend.dto.response.AuthResponse;
 import com.sneakerhead.backend.dto.response.UserResponse;
 import com.sneakerhead.backend.entity.User;
 import com.sneakerhead.backend.exception.BadRequestException;
+import com.sneakerhead.backend.exception.InvalidTokenException;
 import com.sneakerhead.backend.repository.UserRepository;
 import com.sneakerhead.backend.security.JwtTokenProvider;
+import com.sneakerhead.backend.security.RefreshTokenRevocations;
+import com.sneakerhead.backend.security.UserPrincipal;
 import com.sneakerhead.backend.util.EntityMapper;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -26,7 +31,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final RefreshTokenRevocations refreshTokenRevocations;
     private final EntityMapper entityMapper;
 
     @Transactional
@@ -54,17 +59,7 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getUsername());
-        String token = jwtTokenProvider.generateToken(userDetails);
-
-        UserResponse userResponse = entityMapper.toUserResponse(savedUser);
-
-        return AuthResponse.builder()
-                .token(token)
-                .type("Bearer")
-                .user(userResponse)
-                .build();
+        return issueTokens(savedUser);
     }
 
     @Transactional(readOnly = true)
@@ -80,15 +75,54 @@ public class AuthService {
                 .orElseGet(() -> userRepository.findByEmail(request.getUsernameOrEmail())
                         .orElseThrow(() -> new BadRequestException("Invalid credentials")));
 
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String token = jwtTokenProvider.generateToken(userDetails);
+        return issueTokens(user);
+    }
+
+    /**
+     * Rotates a refresh token: the presented token is revoked and a new access and refresh
+     * token pair is issued. No password check is involved.
+     */
+    @Transactional(readOnly = true)
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        Claims claims = jwtTokenProvider.validateRefreshToken(request.getRefreshToken())
+                .orElseThrow(() -> new InvalidTokenException("Invalid or expired refresh token"));
+        UUID tokenId = jwtTokenProvider.refreshTokenId(claims);
+        if (refreshTokenRevocations.isRevoked(tokenId, claims.getExpiration())) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+
+        // Role changes and deactivation bump the token version, which revokes refresh tokens too
+        int tokenVersion = jwtTokenProvider.tokenVersion(claims);
+        User user = userRepository.findById(jwtTokenProvider.userId(claims))
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getActive())
+                        && candidate.getTokenVersion() == tokenVersion)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token has been revoked"));
+
+        // Of two concurrent refreshes with the same token, only the first gets a new pair
+        if (!refreshTokenRevocations.revoke(tokenId, claims.getExpiration())) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        return issueTokens(user);
+    }
+
+    public void logout(RefreshTokenRequest request) {
+        Claims claims = jwtTokenProvider.validateRefreshToken(request.getRefreshToken())
+                .orElseThrow(() -> new InvalidTokenException("Invalid or expired refresh token"));
+        refreshTokenRevocations.revoke(jwtTokenProvider.refreshTokenId(claims), claims.getExpiration());
+    }
+
+    private AuthResponse issueTokens(User user) {
+        UserPrincipal principal = UserPrincipal.from(user);
+        String token = jwtTokenProvider.generateToken(principal);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(principal);
 
         UserResponse userResponse = entityMapper.toUserResponse(user);
 
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .type("Bearer")
+                .expiresIn(jwtTokenProvider.getExpirationSeconds())
                 .user(userResponse)
                 .build();
     }
@@ -5,11 +5,13 @@ import com.sneakerhead.backend.dto.response.CommentResponse;
 import com.sneakerhead.backend.entity.Comment;
 import com.sneakerhead.backend.entity.Task;
 import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.event.CommentChangedEvent;
 import com.sneakerhead.backend.exception.ResourceNotFoundException;
 import com.sneakerhead.backend.repository.CommentRepository;
 import com.sneakerhead.backend.repository.TaskRepository;
 import com.sneakerhead.backend.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +25,10 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserService userService;
+    private final CounterService counterService;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadCoalescer readCoalescer;
 
     @Transactional
     public CommentResponse addComment(Long taskId, CommentRequest request) {
@@ -39,14 +44,17 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        counterService.commentAdded(taskId);
+        eventPublisher.publishEvent(new CommentChangedEvent(taskId));
+
         return entityMapper.toCommentResponse(savedComment);
     }
 
-    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByTask(Long taskId) {
-        return commentRepository.findByTaskIdOrderByCreatedAtDesc(taskId).stream()
-                .map(entityMapper::toCommentResponse)
-                .collect(Collectors.toList());
+        return readCoalescer.read("tasks/" + taskId + "/comments",
+                () -> commentRepository.findByTaskIdOrderByCreatedAtDesc(taskId).stream()
+                        .map(entityMapper::toCommentResponse)
+                        .collect(Collectors.toList()));
     }
 
     @Transactional
@@ -55,5 +63,7 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", id));
 
         commentRepository.delete(comment);
+        counterService.commentRemoved(comment.getTask().getId());
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getTask().getId()));
     }
 }
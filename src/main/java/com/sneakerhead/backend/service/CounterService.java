@@ -0,0 +1,185 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.Team;
+import com.sneakerhead.backend.event.ProjectChangedEvent;
+import com.sneakerhead.backend.event.TeamChangedEvent;
+import com.sneakerhead.backend.repository.ProjectRepository;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the denormalized child counters on tasks, projects and teams in step with the
+ * source tables. Adjustments are relative UPDATEs issued in the caller's transaction, so
+ * concurrent writers never overwrite each other's increments. The project or team whose counter
+ * changed is evicted from the second-level cache, and again after commit so a concurrent read
+ * cannot cache the old count in between. Cached list queries hold ids only (see
+ * {@code CachedEntityLoader}) and are synchronized on other query spaces, so they survive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TeamRepository teamRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void commentAdded(Long taskId) {
+        taskRepository.adjustCommentsCount(taskId, 1);
+    }
+
+    @Transactional
+    public void commentRemoved(Long taskId) {
+        taskRepository.adjustCommentsCount(taskId, -1);
+    }
+
+    @Transactional
+    public void taskAdded(Long projectId, Task.Status status) {
+        adjustTaskCounts(projectId, status, 1);
+    }
+
+    @Transactional
+    public void taskRemoved(Long projectId, Task.Status status) {
+        adjustTaskCounts(projectId, status, -1);
+    }
+
+    @Transactional
+    public void taskChanged(Long oldProjectId, Task.Status oldStatus, Long newProjectId, Task.Status newStatus) {
+        if (Objects.equals(oldProjectId, newProjectId) && oldStatus == newStatus) {
+            return;
+        }
+        adjustTaskCounts(oldProjectId, oldStatus, -1);
+        adjustTaskCounts(newProjectId, newStatus, 1);
+    }
+
+    @Transactional
+    public void projectAdded(Long teamId) {
+        adjustProjectsCount(teamId, 1);
+    }
+
+    @Transactional
+    public void projectRemoved(Long teamId) {
+        adjustProjectsCount(teamId, -1);
+    }
+
+    /**
+     * Starts collecting task count changes so that a bulk write issues one UPDATE per
+     * affected project instead of one per task.
+     */
+    public TaskCountBatch taskCountBatch() {
+        return new TaskCountBatch();
+    }
+
+    /**
+     * Recomputes every counter from the source tables, repairing drift from writes that
+     * bypassed the service layer (manual SQL, imports, cascaded deletes).
+     */
+    @Scheduled(cron = "${counters.repair.cron:0 0 3 * * *}")
+    @Transactional
+    public void repairCounters() {
+        int tasks = taskRepository.recomputeChildCounts();
+        int projects = projectRepository.recomputeTaskCounts();
+        int teams = teamRepository.recomputeProjectsCount();
+        log.info("Recomputed counters for {} tasks, {} projects and {} teams", tasks, projects, teams);
+    }
+
+    private void adjustTaskCounts(Long projectId, Task.Status status, int delta) {
+        if (projectId == null) {
+            return;
+        }
+        projectRepository.adjustTaskCounts(projectId, delta,
+                status == Task.Status.OPEN ? delta : 0,
+                status == Task.Status.IN_PROGRESS ? delta : 0,
+                status == Task.Status.COMPLETED ? delta : 0,
+                status == Task.Status.CANCELLED ? delta : 0);
+        projectCountsChanged(projectId);
+    }
+
+    private void adjustProjectsCount(Long teamId, int delta) {
+        teamRepository.adjustProjectsCount(teamId, delta);
+        evict(Team.class, teamId);
+        eventPublisher.publishEvent(new TeamChangedEvent(teamId));
+    }
+
+    private void projectCountsChanged(Long projectId) {
+        evict(Project.class, projectId);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, null));
+    }
+
+    private void evict(Class<?> entityType, Long id) {
+        evictNow(entityType, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(entityType, id);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Class<?> entityType, Long id) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictEntityData(entityType, id);
+    }
+
+    public class TaskCountBatch {
+
+        // Per project: total, open, in progress, completed, cancelled
+        private final Map<Long, int[]> deltas = new HashMap<>();
+
+        public void taskAdded(Long projectId, Task.Status status) {
+            add(projectId, status, 1);
+        }
+
+        public void taskChanged(Long oldProjectId, Task.Status oldStatus, Long newProjectId, Task.Status newStatus) {
+            add(oldProjectId, oldStatus, -1);
+            add(newProjectId, newStatus, 1);
+        }
+
+        /**
+         * Writes the accumulated deltas in the caller's transaction, skipping projects whose changes cancel out.
+         */
+        public void apply() {
+            deltas.forEach((projectId, delta) -> {
+                if (delta[0] != 0 || delta[1] != 0 || delta[2] != 0 || delta[3] != 0 || delta[4] != 0) {
+                    projectRepository.adjustTaskCounts(projectId, delta[0], delta[1], delta[2], delta[3], delta[4]);
+                    projectCountsChanged(projectId);
+                }
+            });
+            deltas.clear();
+        }
+
+        private void add(Long projectId, Task.Status status, int delta) {
+            if (projectId == null) {
+                return;
+            }
+            int[] counts = deltas.computeIfAbsent(projectId, key -> new int[5]);
+            counts[0] += delta;
+            counts[switch (status) {
+                case OPEN -> 1;
+                case IN_PROGRESS -> 2;
+                case COMPLETED -> 3;
+                case CANCELLED -> 4;
+            }] += delta;
+        }
+    }
+}
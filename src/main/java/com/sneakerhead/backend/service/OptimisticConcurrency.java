@@ -0,0 +1,109 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.dto.response.Versioned;
+import com.sneakerhead.backend.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs writes to versioned entities. Each write must be a transactional service call made
+ * outside any transaction, so every attempt reads the row afresh.
+ * <p>
+ * Conditional writes (the client sent If-Match) are never retried: a lost race is reported
+ * as a failed precondition with the current state. Commutative writes such as assignment or
+ * completion, and updates sent without If-Match, are retried a few times with a short
+ * jittered backoff instead, so a hot task (or a write-behind flush landing between read and
+ * write) does not turn concurrent requests into errors.
+ */
+@Component
+public class OptimisticConcurrency {
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter retries;
+    private final Counter conflicts;
+
+    public OptimisticConcurrency(@Value("${tasks.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${tasks.optimistic-retry.backoff:10ms}") Duration backoff,
+                                 MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoff.toMillis();
+        this.retries = Counter.builder("optimistic.lock.retries")
+                .description("Commutative writes retried after losing a version check")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("optimistic.lock.conflicts")
+                .description("Conditional writes rejected with 412 after losing a version check")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a write whose outcome does not depend on the state it read, retrying it when a
+     * concurrent write to the same row commits first. The last failure is rethrown.
+     */
+    public <T> T retrying(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                retries.increment();
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Runs a write made against the version the client has seen, turning a version conflict
+     * into {@link PreconditionFailedException} carrying the current state. Without an expected
+     * version the write runs once and a conflict surfaces as is.
+     */
+    public <T extends Versioned> T conditional(Long expectedVersion, Supplier<T> write, Supplier<T> current) {
+        if (expectedVersion == null) {
+            return write.get();
+        }
+        try {
+            return write.get();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            conflicts.increment();
+            throw new PreconditionFailedException("The resource has been modified since it was read", current.get());
+        }
+    }
+
+    /**
+     * Runs a write that does not depend on the state it read unless the client sent a version:
+     * conditional when it did, retried otherwise. Used for commutative writes and for updates
+     * sent without If-Match, which apply to whatever the current state is.
+     */
+    public <T extends Versioned> T commutative(Long expectedVersion, Supplier<T> write, Supplier<T> current) {
+        return expectedVersion != null ? conditional(expectedVersion, write, current) : retrying(write);
+    }
+
+    /**
+     * Fails a write up front when the entity is no longer at the version the client has seen.
+     */
+    public static void checkVersion(Class<?> type, Object id, Long version, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+
+    private void pause(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,27 +1,47 @@
 package com.sneakerhead.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sneakerhead.backend.dto.request.ProjectRequest;
 import com.sneakerhead.backend.dto.response.ProjectResponse;
+import com.sneakerhead.backend.dto.response.Versioned;
 import com.sneakerhead.backend.entity.Project;
 import com.sneakerhead.backend.entity.Team;
+import com.sneakerhead.backend.event.ProjectChangedEvent;
+import com.sneakerhead.backend.event.TaskDeletedEvent;
 import com.sneakerhead.backend.exception.ResourceNotFoundException;
+import com.sneakerhead.backend.repository.CachedEntityLoader;
 import com.sneakerhead.backend.repository.ProjectRepository;
 import com.sneakerhead.backend.repository.TeamRepository;
 import com.sneakerhead.backend.util.EntityMapper;
+import com.sneakerhead.backend.util.EntityTags;
+import com.sneakerhead.backend.util.MergePatch;
+import com.sneakerhead.backend.util.ResponseValidators;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("name", "description", "status", "startDate", "endDate");
+
     private final ProjectRepository projectRepository;
     private final TeamRepository teamRepository;
+    private final CounterService counterService;
     private final EntityMapper entityMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadCoalescer readCoalescer;
+    private final CachedEntityLoader cachedEntityLoader;
 
     @Transactional
     public ProjectResponse createProject(ProjectRequest request) {
@@ -38,15 +58,33 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        counterService.projectAdded(team.getId());
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId(), team.getId()));
+
         return entityMapper.toProjectResponse(savedProject);
     }
 
-    @Transactional(readOnly = true)
     public ProjectResponse getProjectById(Long id) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+        return readCoalescer.read("projects/" + id, () -> {
+            Project project = projectRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
 
-        return entityMapper.toProjectResponse(project);
+            return entityMapper.toProjectResponse(project);
+        });
+    }
+
+    /**
+     * The validators of a project's current representation, taken from the cached project and
+     * team without mapping them.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResponseValidators> getProjectValidators(Long id) {
+        return projectRepository.findById(id).map(project -> new ResponseValidators(
+                EntityTags.of(project.getVersion(), project.getTasksCount(), project.getOpenTasksCount(),
+                        project.getInProgressTasksCount(), project.getCompletedTasksCount(),
+                        project.getCancelledTasksCount(),
+                        Versioned.references(project.getTeam() != null ? project.getTeam().getVersion() : null)),
+                project.getUpdatedAt()));
     }
 
     @Transactional(readOnly = true)
@@ -56,17 +94,18 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<ProjectResponse> getProjectsByTeam(Long teamId) {
-        return projectRepository.findByTeamId(teamId).stream()
+        return readCoalescer.read("projects?teamId=" + teamId, () -> cachedEntityLoader
+                .findAllById(Project.class, projectRepository.findIdsByTeamId(teamId)).stream()
                 .map(entityMapper::toProjectResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Transactional
-    public ProjectResponse updateProject(Long id, ProjectRequest request) {
+    public ProjectResponse updateProject(Long id, ProjectRequest request, Long expectedVersion) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+        OptimisticConcurrency.checkVersion(Project.class, id, project.getVersion(), expectedVersion);
 
         if (request.getName() != null) {
             project.setName(request.getName());
@@ -84,7 +123,33 @@ public class ProjectService {
             project.setEndDate(request.getEndDate());
         }
 
-        Project updatedProject = projectRepository.save(project);
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, updatedProject.getTeam().getId()));
+        return entityMapper.toProjectResponse(updatedProject);
+    }
+
+    /**
+     * Applies a JSON Merge Patch. Only the columns it changes are written; a patch that changes
+     * nothing writes nothing.
+     */
+    @Transactional
+    public ProjectResponse patchProject(Long id, JsonNode document, Long expectedVersion) {
+        Project project = projectRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+        OptimisticConcurrency.checkVersion(Project.class, id, project.getVersion(), expectedVersion);
+        MergePatch patch = MergePatch.of(document, PATCHABLE_FIELDS, objectMapper);
+
+        patch.applyRequired("name", String.class, project::getName, project::setName);
+        patch.apply("description", String.class, project::getDescription, project::setDescription);
+        patch.applyRequired("status", Project.Status.class, project::getStatus, project::setStatus);
+        patch.apply("startDate", LocalDateTime.class, project::getStartDate, project::setStartDate);
+        patch.apply("endDate", LocalDateTime.class, project::getEndDate, project::setEndDate);
+        if (!patch.isChanged()) {
+            return entityMapper.toProjectResponse(project);
+        }
+
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, updatedProject.getTeam().getId()));
         return entityMapper.toProjectResponse(updatedProject);
     }
 
@@ -93,6 +158,9 @@ public class ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
 
+        project.getTasks().forEach(task -> eventPublisher.publishEvent(new TaskDeletedEvent(task.getId())));
         projectRepository.delete(project);
+        counterService.projectRemoved(project.getTeam().getId());
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, project.getTeam().getId()));
     }
 }
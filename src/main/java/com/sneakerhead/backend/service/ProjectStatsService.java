@@ -0,0 +1,184 @@
+package com.sneakerhead.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sneakerhead.backend.config.ReadRouting;
+import com.sneakerhead.backend.dto.response.AssigneeLoad;
+import com.sneakerhead.backend.dto.response.ProjectStatsResponse;
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.event.ProjectChangedEvent;
+import com.sneakerhead.backend.exception.ResourceNotFoundException;
+import com.sneakerhead.backend.repository.ProjectRepository;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard statistics of a project, computed by aggregate queries without loading any task.
+ * Status counts come from the project's maintained counters, the rest from GROUP BY and COUNT
+ * queries over covering indexes. Results are cached for {@code projects.stats.ttl} and dropped
+ * when the project's counters change; changes that leave them alone, such as a new priority
+ * or assignee, show up once the entry expires. Statistics whose computation raced such a
+ * change are returned but not cached.
+ */
+@Service
+public class ProjectStatsService {
+
+    private static final Set<Task.Status> OPEN_STATUSES = Set.of(Task.Status.OPEN, Task.Status.IN_PROGRESS);
+
+    // Changes are remembered for this long and this many, to catch computations they overtook;
+    // a computation that spans more than either is not cached
+    private static final Duration INVALIDATION_MEMORY = Duration.ofMinutes(1);
+    private static final long MAX_REMEMBERED_INVALIDATIONS = 100_000;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ReadCoalescer readCoalescer;
+    private final Cache<Long, ProjectStatsResponse> stats;
+    private final Cache<Long, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(INVALIDATION_MEMORY)
+            .maximumSize(MAX_REMEMBERED_INVALIDATIONS)
+            .build();
+    private final AtomicLong clock = new AtomicLong();
+
+    public ProjectStatsService(ProjectRepository projectRepository,
+                               TaskRepository taskRepository,
+                               UserRepository userRepository,
+                               ReadCoalescer readCoalescer,
+                               @Value("${projects.stats.ttl:30s}") Duration ttl,
+                               @Value("${projects.stats.max-size:10000}") long maxSize,
+                               MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.readCoalescer = readCoalescer;
+        this.stats = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "projectStats");
+    }
+
+    public ProjectStatsResponse getProjectStats(Long projectId) {
+        ProjectStatsResponse cached = stats.getIfPresent(projectId);
+        if (cached != null) {
+            return cached;
+        }
+        // Timed where the computation starts, which for a shared read is in another caller
+        // On the primary, so a lagging replica cannot refill the entry an invalidation just dropped
+        Computation computation = ReadRouting.onPrimary(() -> readCoalescer.read("projects/" + projectId + "/stats",
+                () -> new Computation(clock.get(), System.nanoTime(), computeStats(projectId))));
+        // Checked inside compute, so a change either shows in the check or drops the entry after it
+        stats.asMap().compute(projectId, (id, current) ->
+                invalidatedSince(id, computation) ? current : computation.stats());
+        return computation.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void projectChanged(ProjectChangedEvent event) {
+        invalidatedAt.put(event.projectId(), clock.incrementAndGet());
+        stats.invalidate(event.projectId());
+    }
+
+    private boolean invalidatedSince(Long projectId, Computation computation) {
+        if (System.nanoTime() - computation.startNanos() >= INVALIDATION_MEMORY.toNanos()
+                || clock.get() - computation.startedAt() >= MAX_REMEMBERED_INVALIDATIONS) {
+            return true;
+        }
+        Long at = invalidatedAt.getIfPresent(projectId);
+        return at != null && at > computation.startedAt();
+    }
+
+    private ProjectStatsResponse computeStats(Long projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Task.Status, Long> statusCounts = new EnumMap<>(Task.Status.class);
+        statusCounts.put(Task.Status.OPEN, project.getOpenTasksCount().longValue());
+        statusCounts.put(Task.Status.IN_PROGRESS, project.getInProgressTasksCount().longValue());
+        statusCounts.put(Task.Status.COMPLETED, project.getCompletedTasksCount().longValue());
+        statusCounts.put(Task.Status.CANCELLED, project.getCancelledTasksCount().longValue());
+
+        Map<Task.Priority, Long> priorityCounts = new EnumMap<>(Task.Priority.class);
+        for (Task.Priority priority : Task.Priority.values()) {
+            priorityCounts.put(priority, 0L);
+        }
+        taskRepository.countByPriority(projectId)
+                .forEach(row -> priorityCounts.put(row.getPriority(), row.getCount()));
+
+        LocalDateTime weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+
+        long unassigned = 0;
+        Map<Long, Map<Task.Status, Long>> countsByAssignee = new HashMap<>();
+        for (TaskRepository.AssigneeCountRow row : taskRepository.countByAssigneeAndStatus(projectId)) {
+            if (row.getAssigneeId() == null) {
+                unassigned += row.getCount();
+            } else {
+                countsByAssignee.computeIfAbsent(row.getAssigneeId(), id -> new EnumMap<>(Task.Status.class))
+                        .put(row.getStatus(), row.getCount());
+            }
+        }
+
+        return ProjectStatsResponse.builder()
+                .projectId(projectId)
+                .tasksCount(project.getTasksCount().longValue())
+                .statusCounts(statusCounts)
+                .priorityCounts(priorityCounts)
+                .overdueTasksCount(taskRepository.countOverdue(projectId, OPEN_STATUSES, now))
+                .completedThisWeekCount(taskRepository.countCompletedSince(projectId, Task.Status.COMPLETED, weekStart))
+                .unassignedTasksCount(unassigned)
+                .assignees(assigneeLoads(countsByAssignee))
+                .computedAt(now)
+                .build();
+    }
+
+    private List<AssigneeLoad> assigneeLoads(Map<Long, Map<Task.Status, Long>> countsByAssignee) {
+        List<AssigneeLoad> loads = new ArrayList<>();
+        for (User user : userRepository.findAllById(countsByAssignee.keySet())) {
+            Map<Task.Status, Long> counts = countsByAssignee.get(user.getId());
+            loads.add(AssigneeLoad.builder()
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .fullName(user.getFullName())
+                    .openTasksCount(counts.getOrDefault(Task.Status.OPEN, 0L))
+                    .inProgressTasksCount(counts.getOrDefault(Task.Status.IN_PROGRESS, 0L))
+                    .completedTasksCount(counts.getOrDefault(Task.Status.COMPLETED, 0L))
+                    .cancelledTasksCount(counts.getOrDefault(Task.Status.CANCELLED, 0L))
+                    .build());
+        }
+        loads.sort(Comparator.comparingLong((AssigneeLoad load) -> load.getOpenTasksCount() + load.getInProgressTasksCount())
+                .reversed()
+                .thenComparing(AssigneeLoad::getUsername));
+        return loads;
+    }
+
+    /**
+     * Statistics and when their computation began, by the invalidation clock and the system
+     * timer.
+     */
+    private record Computation(long startedAt, long startNanos, ProjectStatsResponse stats) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.config.ReadRouting;
+import com.sneakerhead.backend.config.WriteTrackingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs identical concurrent reads once. The first caller for a key loads it in a read-only
+ * transaction of its own; callers arriving while that load runs wait for it and get the same
+ * result or exception, so a burst of requests for one project costs one transaction. Callers
+ * must not modify the shared result.
+ * <p>
+ * A follower waits up to {@code reads.coalescing.wait-timeout}, then loads on its own. It
+ * never joins a load that began before its user's last write (see {@link WriteClock}), and
+ * with a read replica, callers whose reads are pinned to the primary only share loads with
+ * each other. A load may miss a write another user committed while it ran, as a concurrent
+ * read could. Calls made inside a transaction are not coalesced.
+ * <p>
+ * Calls are counted as {@code reads.coalescing} by outcome: executed, joined and timed_out.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final WriteClock writeClock;
+    private final WriteTrackingDataSource writeTracking;
+    private final boolean enabled;
+    private final long waitTimeoutNanos;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter timedOut;
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager,
+                         WriteClock writeClock,
+                         ObjectProvider<WriteTrackingDataSource> writeTracking,
+                         @Value("${reads.coalescing.enabled:true}") boolean enabled,
+                         @Value("${reads.coalescing.wait-timeout:2s}") Duration waitTimeout,
+                         MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeClock = writeClock;
+        this.writeTracking = writeTracking.getIfAvailable();
+        this.enabled = enabled;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.joined = outcomeCounter(meterRegistry, "joined");
+        this.timedOut = outcomeCounter(meterRegistry, "timed_out");
+        Gauge.builder("reads.coalescing.in_flight", inFlight, Map::size)
+                .description("Reads currently being loaded on behalf of every caller of the same key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of the loader for the key, shared with every concurrent caller of the
+     * same key.
+     */
+    public <T> T read(String key, Supplier<T> loader) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return load(loader);
+        }
+        // Reads pinned to the primary must not share a load that went to the replica
+        boolean primary = ReadRouting.isPinnedToPrimary() || writeTracking != null && writeTracking.wroteRecently();
+        String flightKey = primary ? key + "#primary" : key;
+        Flight flight = new Flight(writeClock.now(), System.nanoTime());
+        Flight existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing == null) {
+            return lead(flightKey, flight, loader);
+        }
+        if (!canJoin(existing)) {
+            return load(loader);
+        }
+        return join(key, existing, loader);
+    }
+
+    private <T> T lead(String flightKey, Flight flight, Supplier<T> loader) {
+        T value;
+        try {
+            value = load(loader);
+        } catch (Throwable ex) {
+            inFlight.remove(flightKey, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(flightKey, flight);
+        flight.result.complete(value);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T join(String key, Flight flight, Supplier<T> loader) {
+        try {
+            T value = (T) flight.result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            joined.increment();
+            return value;
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            return load(loader);
+        } catch (ExecutionException ex) {
+            joined.increment();
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared read of " + key, ex);
+        }
+    }
+
+    private boolean canJoin(Flight flight) {
+        return System.nanoTime() - flight.startedNanos < WriteClock.MEMORY.toNanos()
+                && !writeClock.wroteSince(flight.startedAt);
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        executed.increment();
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("reads.coalescing")
+                .description("Coalesced read calls, by whether they loaded, shared another call's load or gave up waiting")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A load in progress: when it began, by the write clock and the system timer, and its
+     * eventual result.
+     */
+    private static final class Flight {
+
+        private final long startedAt;
+        private final long startedNanos;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Flight(long startedAt, long startedNanos) {
+            this.startedAt = startedAt;
+            this.startedNanos = startedNanos;
+        }
+    }
+}
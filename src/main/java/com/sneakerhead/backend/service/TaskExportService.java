@@ -0,0 +1,126 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.exception.BadRequestException;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.util.CsvWriter;
+import com.sneakerhead.backend.util.EntityMapper;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all tasks of a project or team straight from a forward-only database cursor to the
+ * response stream. Rows are detached from the persistence context as soon as they are written,
+ * so heap use does not grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    // Matches the JDBC fetch size of the streaming queries
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final TaskRepository taskRepository;
+    private final EntityMapper entityMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public void checkScope(Long projectId, Long teamId) {
+        if ((projectId == null) == (teamId == null)) {
+            throw new BadRequestException("Exactly one of projectId or teamId is required");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long projectId, Long teamId, Format format, OutputStream out) throws IOException {
+        checkScope(projectId, teamId);
+
+        try (Stream<Task> tasks = projectId != null
+                ? taskRepository.streamByProjectId(projectId)
+                : taskRepository.streamByTeamId(teamId)) {
+            if (format == Format.CSV) {
+                writeCsv(tasks.iterator(), out);
+            } else {
+                writeNdjson(tasks.iterator(), out);
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void writeNdjson(Iterator<Task> tasks, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        int written = 0;
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            generator.writeObject(entityMapper.toTaskResponse(task));
+            generator.writeRaw('\n');
+            release(task, ++written);
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<Task> tasks, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        csv.writeRow("id", "title", "description", "status", "priority", "projectId", "projectName",
+                "creator", "assignee", "dueDate", "completedAt", "createdAt", "updatedAt",
+                "commentsCount", "attachmentsCount");
+
+        int written = 0;
+        while (tasks.hasNext()) {
+            Task task = tasks.next();
+            csv.writeRow(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+                    task.getProject() != null ? task.getProject().getId() : null,
+                    task.getProject() != null ? task.getProject().getName() : null,
+                    usernameOf(task.getCreator()), usernameOf(task.getAssignee()),
+                    task.getDueDate(), task.getCompletedAt(), task.getCreatedAt(), task.getUpdatedAt(),
+                    task.getCommentsCount(), task.getAttachmentsCount());
+            release(task, ++written);
+        }
+        csv.flush();
+    }
+
+    private void release(Task task, int written) {
+        entityManager.detach(task);
+        // Projects and users are shared between rows; drop them periodically rather than per row
+        if (written % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static String usernameOf(User user) {
+        return user != null ? user.getUsername() : null;
+    }
+
+    @Getter
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.dto.response.ImportJobErrorResponse;
+import com.sneakerhead.backend.dto.response.ImportJobResponse;
+import com.sneakerhead.backend.entity.ImportJob;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.exception.BadRequestException;
+import com.sneakerhead.backend.exception.ResourceNotFoundException;
+import com.sneakerhead.backend.repository.ImportJobErrorRepository;
+import com.sneakerhead.backend.repository.ImportJobRepository;
+import com.sneakerhead.backend.util.EntityMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts task import uploads and runs them as background jobs. The upload is moved to the
+ * import directory unread and parsed from there as a stream by {@link TaskImportWorker}, so
+ * neither the request nor the job holds the file in memory.
+ * <p>
+ * Multipart uploads are bounded by the application-wide multipart limits. Files larger than
+ * those are sent as the raw request body, which is bounded by {@code imports.max-file-size}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final TaskImportWorker worker;
+    private final UserService userService;
+    private final EntityMapper entityMapper;
+
+    @Value("${imports.storage-dir:${java.io.tmpdir}/taskmaster-imports}")
+    private Path storageDir;
+
+    @Value("${imports.max-file-size:1GB}")
+    private DataSize maxFileSize;
+
+    @Value("${imports.concurrency:2}")
+    private int concurrency;
+
+    // Owned here rather than exposed as a bean so it does not replace the application task executor
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("task-import-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    public ImportJobResponse submit(MultipartFile file, ImportJob.Format format) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        ImportJob.Format resolvedFormat = format != null ? format : formatOf(file.getOriginalFilename());
+        User owner = userService.getCurrentUserEntity();
+
+        Path path = storagePath(resolvedFormat);
+        file.transferTo(path);
+
+        return queue(owner, resolvedFormat, file.getOriginalFilename(), path, file.getSize());
+    }
+
+    /**
+     * Like {@link #submit(MultipartFile, ImportJob.Format)} for a file sent as the request body.
+     * The body is copied to the import directory as it arrives; a body whose declared length
+     * exceeds {@code imports.max-file-size} is refused unread, and one without a declared length
+     * as soon as it grows past the limit.
+     */
+    public ImportJobResponse submit(InputStream body, long declaredSize, String fileName, ImportJob.Format format)
+            throws IOException {
+        long maxBytes = maxFileSize.toBytes();
+        if (declaredSize > maxBytes) {
+            throw new MaxUploadSizeExceededException(maxBytes);
+        }
+        User owner = userService.getCurrentUserEntity();
+
+        Path path = storagePath(format);
+        long size;
+        try (OutputStream out = Files.newOutputStream(path)) {
+            size = copyAtMost(body, out, maxBytes);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+        if (size == 0) {
+            Files.deleteIfExists(path);
+            throw new BadRequestException("Import file is empty");
+        }
+
+        return queue(owner, format, fileName, path, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobResponse getJob(Long id) {
+        return entityMapper.toImportJobResponse(findOwnJob(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ImportJobResponse> getMyJobs() {
+        Long ownerId = userService.getCurrentUserId();
+        return jobRepository.findByOwnerIdOrderByCreatedAtDesc(ownerId).stream()
+                .map(entityMapper::toImportJobResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ImportJobErrorResponse> getErrors(Long id) {
+        ImportJob job = findOwnJob(id);
+        return errorRepository.findByJobIdOrderByRowNumber(job.getId()).stream()
+                .map(entityMapper::toImportJobErrorResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Requeues a failed job. It continues after the last committed batch.
+     */
+    @Transactional
+    public ImportJobResponse resume(Long id) {
+        ImportJob job = findOwnJob(id);
+        if (job.getStatus() != ImportJob.Status.FAILED) {
+            throw new BadRequestException("Only failed import jobs can be resumed");
+        }
+        if (!Files.exists(Path.of(job.getStoragePath()))) {
+            throw new BadRequestException("The uploaded file of this import job is no longer available");
+        }
+        job.setStatus(ImportJob.Status.QUEUED);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        dispatch(job.getId());
+
+        return entityMapper.toImportJobResponse(job);
+    }
+
+    /**
+     * Picks up jobs that were queued or running when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void resumeInterrupted() {
+        List<ImportJob> jobs = jobRepository.findByStatusIn(List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING));
+        for (ImportJob job : jobs) {
+            job.setStatus(ImportJob.Status.QUEUED);
+            dispatch(job.getId());
+        }
+        if (!jobs.isEmpty()) {
+            log.info("Resuming {} interrupted import jobs", jobs.size());
+        }
+    }
+
+    private Path storagePath(ImportJob.Format format) throws IOException {
+        Files.createDirectories(storageDir);
+        return storageDir.resolve(UUID.randomUUID() + "." + format.name().toLowerCase(Locale.ROOT));
+    }
+
+    private ImportJobResponse queue(User owner, ImportJob.Format format, String fileName, Path path, long size) {
+        ImportJob job = jobRepository.save(ImportJob.builder()
+                .owner(owner)
+                .format(format)
+                .fileName(fileName)
+                .storagePath(path.toAbsolutePath().toString())
+                .fileSize(size)
+                .build());
+        dispatch(job.getId());
+
+        return entityMapper.toImportJobResponse(job);
+    }
+
+    private static long copyAtMost(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long copied = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            copied += read;
+            if (copied > maxBytes) {
+                throw new MaxUploadSizeExceededException(maxBytes);
+            }
+            out.write(buffer, 0, read);
+        }
+        return copied;
+    }
+
+    // Deferred until commit so the worker sees the job as QUEUED
+    private void dispatch(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> worker.run(jobId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> worker.run(jobId));
+            }
+        });
+    }
+
+    private ImportJob findOwnJob(Long id) {
+        Long ownerId = userService.getCurrentUserId();
+        return jobRepository.findByIdAndOwnerId(id, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", id));
+    }
+
+    private static ImportJob.Format formatOf(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            return ImportJob.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return ImportJob.Format.NDJSON;
+        }
+        throw new BadRequestException("Cannot tell the import format from the file name; pass format=CSV or format=NDJSON");
+    }
+}
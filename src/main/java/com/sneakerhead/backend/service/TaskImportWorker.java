@@ -0,0 +1,476 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sneakerhead.backend.entity.ImportJob;
+import com.sneakerhead.backend.entity.ImportJobError;
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.exception.BadRequestException;
+import com.sneakerhead.backend.repository.ImportJobErrorRepository;
+import com.sneakerhead.backend.repository.ImportJobRepository;
+import com.sneakerhead.backend.repository.ProjectRepository;
+import com.sneakerhead.backend.repository.UserRepository;
+import com.sneakerhead.backend.search.TaskSearchIndexer;
+import com.sneakerhead.backend.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs one import job: reads the stored upload record by record and writes it in batches,
+ * each in its own transaction together with the job's progress. A job that stops part way
+ * resumes after the last committed batch.
+ * <p>
+ * Columns match the task export: title, description, status, priority, projectId, assignee
+ * (username), dueDate and completedAt. Other columns are ignored.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskImportWorker {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final CounterService counterService;
+    private final TaskInboxService inboxService;
+    private final TaskSearchIndexer searchIndexer;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${imports.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${imports.max-error-rows:1000}")
+    private int maxErrorRows;
+
+    public void run(Long jobId) {
+        ImportJob job = transactionTemplate.execute(status -> {
+            ImportJob claimed = jobRepository.findById(jobId).orElse(null);
+            if (claimed == null || claimed.getStatus() != ImportJob.Status.QUEUED) {
+                return null;
+            }
+            claimed.setStatus(ImportJob.Status.RUNNING);
+            if (claimed.getStartedAt() == null) {
+                claimed.setStartedAt(LocalDateTime.now());
+            }
+            return claimed;
+        });
+        if (job == null) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        Progress progress = new Progress(job, errorRepository.countByJobId(jobId));
+        Path path = Path.of(job.getStoragePath());
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            RecordSource source = job.getFormat() == ImportJob.Format.CSV
+                    ? new CsvRecordSource(new CsvReader(reader))
+                    : new NdjsonRecordSource(reader, objectMapper);
+
+            // Skip the records committed by an earlier run
+            long rowNumber = 0;
+            while (rowNumber < job.getProcessedRows() && nextRow(source, rowNumber + 1) != null) {
+                rowNumber++;
+            }
+
+            List<Row> batch = new ArrayList<>(batchSize);
+            Row row;
+            while ((row = nextRow(source, rowNumber + 1)) != null) {
+                rowNumber++;
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    writeBatch(progress, batch);
+                    batch.clear();
+                    if (Thread.currentThread().isInterrupted()) {
+                        // Left RUNNING so the job is picked up again on the next start
+                        log.info("Import job {} interrupted after {} rows", jobId, progress.processed);
+                        return;
+                    }
+                }
+            }
+            writeBatch(progress, batch);
+        } catch (Exception ex) {
+            log.warn("Import job {} failed after {} rows", jobId, progress.processed, ex);
+            finish(jobId, ImportJob.Status.FAILED, truncate(ex.getMessage() != null ? ex.getMessage() : ex.toString()));
+            return;
+        }
+
+        finish(jobId, ImportJob.Status.COMPLETED, null);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}", path, ex);
+        }
+        log.info("Import job {} finished: {} imported, {} failed in {} ms",
+                jobId, progress.imported, progress.failed, System.currentTimeMillis() - started);
+    }
+
+    private Row nextRow(RecordSource source, long rowNumber) throws IOException {
+        try {
+            Map<String, String> fields = source.next();
+            return fields != null ? new Row(rowNumber, fields, null) : null;
+        } catch (BadRequestException ex) {
+            return new Row(rowNumber, null, ex.getMessage());
+        }
+    }
+
+    private void writeBatch(Progress progress, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            progress.references.resolve(rows);
+
+            User creator = entityManager.getReference(User.class, progress.ownerId);
+            ImportJob jobReference = entityManager.getReference(ImportJob.class, progress.jobId);
+            CounterService.TaskCountBatch counts = counterService.taskCountBatch();
+            List<Task> tasks = new ArrayList<>(rows.size());
+            List<ImportJobError> errors = new ArrayList<>();
+            long failed = 0;
+
+            for (Row row : rows) {
+                try {
+                    if (row.error != null) {
+                        throw new BadRequestException(row.error);
+                    }
+                    tasks.add(toTask(row.fields, creator, progress.references));
+                } catch (BadRequestException ex) {
+                    failed++;
+                    if (progress.storedErrors + errors.size() < maxErrorRows) {
+                        errors.add(ImportJobError.builder()
+                                .job(jobReference)
+                                .rowNumber(row.number)
+                                .message(truncate(ex.getMessage()))
+                                .build());
+                    }
+                }
+            }
+
+            tasks.forEach(entityManager::persist);
+            // created_at is generated on flush and copied into the inbox entries
+            entityManager.flush();
+            inboxService.tasksCreated(tasks);
+            for (Task task : tasks) {
+                counts.taskAdded(task.getProject() != null ? task.getProject().getId() : null, task.getStatus());
+                searchIndexer.taskSaved(task);
+            }
+            counts.apply();
+            errorRepository.saveAll(errors);
+
+            ImportJob job = jobRepository.findById(progress.jobId).orElseThrow();
+            job.setProcessedRows(job.getProcessedRows() + rows.size());
+            job.setImportedRows(job.getImportedRows() + tasks.size());
+            job.setFailedRows(job.getFailedRows() + failed);
+            entityManager.flush();
+            entityManager.clear();
+
+            progress.advance(rows.size(), tasks.size(), failed, errors.size());
+        });
+    }
+
+    private void finish(Long jobId, ImportJob.Status status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            job.setFinishedAt(LocalDateTime.now());
+        }));
+    }
+
+    private Task toTask(Map<String, String> fields, User creator, ReferenceCache references) {
+        String title = fields.get("title");
+        if (title == null || title.isBlank()) {
+            throw new BadRequestException("Title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new BadRequestException("Title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+
+        Task.Status status = parseEnum(Task.Status.class, "status", fields.get("status"), Task.Status.OPEN);
+        Task.Priority priority = parseEnum(Task.Priority.class, "priority", fields.get("priority"), Task.Priority.MEDIUM);
+        LocalDateTime completedAt = parseDateTime("completedAt", fields.get("completedAt"));
+        if (status == Task.Status.COMPLETED && completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+
+        Project project = null;
+        Long projectId = parseId("projectId", fields.get("projectId"));
+        if (projectId != null) {
+            if (!references.projectExists(projectId)) {
+                throw new BadRequestException("Project " + projectId + " does not exist");
+            }
+            project = entityManager.getReference(Project.class, projectId);
+        }
+
+        User assignee = null;
+        String username = blankToNull(fields.get("assignee"));
+        if (username != null) {
+            Long assigneeId = references.userId(username);
+            if (assigneeId == null) {
+                throw new BadRequestException("User '" + username + "' does not exist");
+            }
+            assignee = entityManager.getReference(User.class, assigneeId);
+        }
+
+        return Task.builder()
+                .title(title.trim())
+                .description(blankToNull(fields.get("description")))
+                .creator(creator)
+                .project(project)
+                .assignee(assignee)
+                .status(status)
+                .priority(priority)
+                .dueDate(parseDateTime("dueDate", fields.get("dueDate")))
+                .completedAt(completedAt)
+                .build();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value, E defaultValue) {
+        value = blankToNull(value);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static Long parseId(String name, String value) {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String name, String value) {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+
+    private record Row(long number, Map<String, String> fields, String error) {
+    }
+
+    private final class Progress {
+
+        private final Long jobId;
+        private final Long ownerId;
+        private final ReferenceCache references = new ReferenceCache();
+        private long processed;
+        private long imported;
+        private long failed;
+        private long storedErrors;
+
+        private Progress(ImportJob job, long storedErrors) {
+            this.jobId = job.getId();
+            this.ownerId = job.getOwner().getId();
+            this.processed = job.getProcessedRows();
+            this.imported = job.getImportedRows();
+            this.failed = job.getFailedRows();
+            this.storedErrors = storedErrors;
+        }
+
+        private void advance(long rows, long importedRows, long failedRows, long errorRows) {
+            processed += rows;
+            imported += importedRows;
+            failed += failedRows;
+            storedErrors += errorRows;
+        }
+    }
+
+    /**
+     * Project and user lookups for the lifetime of one job. Each batch resolves the references
+     * it has not seen before with one IN query per table.
+     */
+    private final class ReferenceCache {
+
+        private final Map<Long, Boolean> projects = new HashMap<>();
+        private final Map<String, Long> users = new HashMap<>();
+        private final Set<String> missingUsers = new HashSet<>();
+
+        private void resolve(List<Row> rows) {
+            Set<Long> projectIds = new HashSet<>();
+            Set<String> usernames = new HashSet<>();
+            for (Row row : rows) {
+                if (row.fields == null) {
+                    continue;
+                }
+                try {
+                    Long projectId = parseId("projectId", row.fields.get("projectId"));
+                    if (projectId != null && !projects.containsKey(projectId)) {
+                        projectIds.add(projectId);
+                    }
+                } catch (BadRequestException ex) {
+                    // Reported when the row is converted
+                }
+                String username = blankToNull(row.fields.get("assignee"));
+                if (username != null && !users.containsKey(username) && !missingUsers.contains(username)) {
+                    usernames.add(username);
+                }
+            }
+
+            if (!projectIds.isEmpty()) {
+                projectIds.forEach(id -> projects.put(id, false));
+                projectRepository.findExistingIds(projectIds).forEach(id -> projects.put(id, true));
+            }
+            if (!usernames.isEmpty()) {
+                userRepository.findByUsernameIn(usernames).forEach(user -> users.put(user.getUsername(), user.getId()));
+                usernames.stream().filter(name -> !users.containsKey(name)).forEach(missingUsers::add);
+            }
+        }
+
+        private boolean projectExists(Long projectId) {
+            return projects.getOrDefault(projectId, false);
+        }
+
+        private Long userId(String username) {
+            return users.get(username);
+        }
+    }
+
+    private interface RecordSource {
+
+        /**
+         * Returns the next record as column name to value, or {@code null} at end of input.
+         * Throws {@link BadRequestException} for a record that cannot be parsed but does not
+         * prevent reading the ones after it.
+         */
+        Map<String, String> next() throws IOException;
+    }
+
+    private static final class CsvRecordSource implements RecordSource {
+
+        private final CsvReader reader;
+        private String[] header;
+
+        private CsvRecordSource(CsvReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = reader.readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream().map(String::trim).toArray(String[]::new);
+                if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+                    header[0] = header[0].substring(1);
+                }
+                if (!List.of(header).contains("title")) {
+                    throw new IOException("CSV header must include a title column");
+                }
+            }
+
+            List<String> values = reader.readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.length) {
+                throw new BadRequestException("Expected " + header.length + " fields but found " + values.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                fields.put(header[i], values.get(i));
+            }
+            return fields;
+        }
+    }
+
+    private static final class NdjsonRecordSource implements RecordSource {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        private NdjsonRecordSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException ex) {
+                throw new BadRequestException("Malformed JSON: " + ex.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                throw new BadRequestException("Expected a JSON object");
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                JsonNode value = field.getValue();
+                if (value.isObject()) {
+                    // Exported tasks embed users and carry the username
+                    value = value.path("username");
+                }
+                if (value.isValueNode() && !value.isNull()) {
+                    fields.put(field.getKey(), value.asText());
+                }
+            });
+            return fields;
+        }
+    }
+}
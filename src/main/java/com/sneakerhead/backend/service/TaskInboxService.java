@@ -0,0 +1,162 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.dto.response.CursorPage;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.TaskInboxEntry;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.exception.BadRequestException;
+import com.sneakerhead.backend.repository.TaskInboxRepository;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user task inbox (tasks a user created or is assigned) so that
+ * "my tasks" is an index range scan on one user's rows rather than an OR across two columns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskInboxService {
+
+    private static final String INBOX = "INBOX";
+
+    private final TaskInboxRepository inboxRepository;
+    private final TaskRepository taskRepository;
+
+    @Transactional
+    public void taskCreated(Task task) {
+        addEntry(task.getCreator(), task);
+        if (task.getAssignee() != null) {
+            addEntry(task.getAssignee(), task);
+        }
+    }
+
+    /**
+     * Adds entries for tasks inserted in the current transaction. New tasks cannot have
+     * entries yet, so the per-entry existence checks are skipped and the inserts can be batched.
+     */
+    @Transactional
+    public void tasksCreated(List<Task> tasks) {
+        List<TaskInboxEntry> entries = new ArrayList<>();
+        for (Task task : tasks) {
+            entries.add(newEntry(task.getCreator(), task));
+            if (task.getAssignee() != null && !task.getAssignee().getId().equals(task.getCreator().getId())) {
+                entries.add(newEntry(task.getAssignee(), task));
+            }
+        }
+        inboxRepository.saveAll(entries);
+    }
+
+    @Transactional
+    public void taskReassigned(Task task, User previousAssignee) {
+        Long previousId = previousAssignee != null ? previousAssignee.getId() : null;
+        Long currentId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        if (Objects.equals(previousId, currentId)) {
+            return;
+        }
+
+        // The creator keeps the task in their inbox regardless of assignment
+        if (previousId != null && !previousId.equals(task.getCreator().getId())) {
+            inboxRepository.deleteEntry(previousId, task.getId());
+        }
+        if (currentId != null) {
+            addEntry(task.getAssignee(), task);
+        }
+    }
+
+    @Transactional
+    public void taskStatusChanged(Task task) {
+        inboxRepository.updateStatus(task.getId(), task.getStatus());
+    }
+
+    /**
+     * Returns one page of task ids from the user's inbox, newest task first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Long> findPage(Long userId, Task.Status status, String cursor, int size) {
+        int pageSize = PageCursor.clampSize(size);
+
+        Specification<TaskInboxEntry> spec = (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor position = PageCursor.decode(cursor, INBOX, Sort.Direction.DESC);
+            LocalDateTime createdAt;
+            try {
+                createdAt = LocalDateTime.parse(position.getValue());
+            } catch (DateTimeParseException ex) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("taskCreatedAt"), createdAt),
+                    cb.and(cb.equal(root.get("taskCreatedAt"), createdAt),
+                            cb.lessThan(root.get("taskId"), position.getId()))));
+        }
+
+        Sort sort = Sort.by(Sort.Direction.DESC, "taskCreatedAt", "taskId");
+        List<TaskInboxEntry> entries = inboxRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasMore = entries.size() > pageSize;
+        List<TaskInboxEntry> page = hasMore ? entries.subList(0, pageSize) : entries;
+
+        String next = null;
+        if (hasMore) {
+            TaskInboxEntry last = page.get(page.size() - 1);
+            next = PageCursor.encode(INBOX, Sort.Direction.DESC, last.getTaskId(), last.getTaskCreatedAt().toString());
+        }
+
+        return CursorPage.<Long>builder()
+                .items(page.stream().map(TaskInboxEntry::getTaskId).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .next(next)
+                .build();
+    }
+
+    /**
+     * Populates the inbox from the tasks table when it is empty but tasks exist,
+     * e.g. on the first start after the inbox was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (inboxRepository.count() > 0 || taskRepository.count() == 0) {
+            return;
+        }
+        int created = inboxRepository.insertCreatorEntries();
+        int assigned = inboxRepository.insertAssigneeEntries();
+        log.info("Backfilled task inbox with {} creator and {} assignee entries", created, assigned);
+    }
+
+    private void addEntry(User user, Task task) {
+        if (inboxRepository.existsByUserIdAndTaskId(user.getId(), task.getId())) {
+            return;
+        }
+        inboxRepository.save(newEntry(user, task));
+    }
+
+    private static TaskInboxEntry newEntry(User user, Task task) {
+        return TaskInboxEntry.builder()
+                .user(user)
+                .task(task)
+                .status(task.getStatus())
+                .taskCreatedAt(task.getCreatedAt())
+                .build();
+    }
+}
@@ -1,132 +1,302 @@
 package com.sneakerhead.backend.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sneakerhead.backend.config.ReadRouting;
+import com.sneakerhead.backend.dto.request.BulkTaskOperation;
+import com.sneakerhead.backend.dto.request.TaskFilterRequest;
 import com.sneakerhead.backend.dto.request.TaskRequest;
+import com.sneakerhead.backend.dto.response.BulkTaskResponse;
+import com.sneakerhead.backend.dto.response.BulkTaskResult;
+import com.sneakerhead.backend.dto.response.CursorPage;
 import com.sneakerhead.backend.dto.response.TaskResponse;
+import com.sneakerhead.backend.dto.response.Versioned;
 import com.sneakerhead.backend.entity.Project;
 import com.sneakerhead.backend.entity.Task;
 import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.event.TaskDeletedEvent;
 import com.sneakerhead.backend.exception.BadRequestException;
 import com.sneakerhead.backend.exception.ResourceNotFoundException;
 import com.sneakerhead.backend.repository.ProjectRepository;
 import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.repository.TaskSortKey;
+import com.sneakerhead.backend.repository.TaskSpecifications;
 import com.sneakerhead.backend.repository.UserRepository;
+import com.sneakerhead.backend.search.TaskSearchIndex;
+import com.sneakerhead.backend.search.TaskSearchIndexer;
 import com.sneakerhead.backend.util.EntityMapper;
+import com.sneakerhead.backend.util.EntityTags;
+import com.sneakerhead.backend.util.MergePatch;
+import com.sneakerhead.backend.util.PageCursor;
+import com.sneakerhead.backend.util.ResponseValidators;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final String RELEVANCE = "RELEVANCE";
+    private static final Set<String> PATCHABLE_FIELDS =
+            Set.of("title", "description", "assigneeId", "status", "priority", "dueDate");
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final CounterService counterService;
+    private final TaskInboxService inboxService;
+    private final TaskSearchIndexer searchIndexer;
+    private final TaskSearchIndex searchIndex;
     private final EntityMapper entityMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TaskWriteBuffer writeBuffer;
+    private final TaskWriteBehindFlusher writeBehind;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.bulk.max-operations:1000}")
+    private int maxBulkOperations;
 
     @Transactional
     public TaskResponse createTask(TaskRequest request) {
         User currentUser = userService.getCurrentUserEntity();
 
-        Task task = Task.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .creator(currentUser)
-                .status(request.getStatus() != null ? request.getStatus() : Task.Status.OPEN)
-                .priority(request.getPriority() != null ? request.getPriority() : Task.Priority.MEDIUM)
-                .dueDate(request.getDueDate())
-                .build();
-
         // Set project if provided
+        Project project = null;
         if (request.getProjectId() != null) {
-            Project project = projectRepository.findById(request.getProjectId())
+            project = projectRepository.findById(request.getProjectId())
                     .orElseThrow(() -> new ResourceNotFoundException("Project", "id", request.getProjectId()));
-            task.setProject(project);
         }
 
         // Set assignee if provided
+        User assignee = null;
         if (request.getAssigneeId() != null) {
-            User assignee = userRepository.findById(request.getAssigneeId())
+            assignee = userRepository.findById(request.getAssigneeId())
                     .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getAssigneeId()));
-            task.setAssignee(assignee);
         }
 
-        Task savedTask = taskRepository.save(task);
+        // Flushed so created_at is generated before the inbox entry copies it
+        Task task = newTask(request, currentUser, project, assignee);
+        Task savedTask = taskRepository.saveAndFlush(task);
+        counterService.taskAdded(projectIdOf(savedTask), savedTask.getStatus());
+        inboxService.taskCreated(savedTask);
+        searchIndexer.taskSaved(savedTask);
+
         return entityMapper.toTaskResponse(savedTask);
     }
 
     @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        Task task = taskRepository.findSummaryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
 
         return entityMapper.toTaskResponse(task);
     }
 
+    /**
+     * The validators of a task's current representation, read without loading the task.
+     */
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(entityMapper::toTaskResponse)
-                .collect(Collectors.toList());
+    public Optional<ResponseValidators> getTaskValidators(Long id) {
+        return taskRepository.findTagById(id).map(row -> new ResponseValidators(
+                EntityTags.of(row.getVersion(), row.getCommentsCount(), row.getAttachmentsCount(),
+                        writeBuffer.pendingWrites(id), Versioned.references(row.getProjectVersion(),
+                                row.getCreatorUpdatedAt(), row.getAssigneeUpdatedAt())),
+                row.getUpdatedAt()));
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getMyTasks() {
-        User currentUser = userService.getCurrentUserEntity();
-        return taskRepository.findTasksByUserId(currentUser.getId()).stream()
-                .map(entityMapper::toTaskResponse)
-                .collect(Collectors.toList());
+    public CursorPage<TaskResponse> getTasks(Task.Status status, TaskSortKey sortKey,
+                                             Sort.Direction direction, String cursor, int size) {
+        Specification<Task> spec = Specification.where(TaskSpecifications.fetchSummary());
+        if (status != null) {
+            spec = spec.and(TaskSpecifications.hasStatus(status));
+        }
+
+        return findPage(spec, sortKey, direction, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getTasksByStatus(Task.Status status) {
-        return taskRepository.findByStatus(status).stream()
-                .map(entityMapper::toTaskResponse)
-                .collect(Collectors.toList());
+    public CursorPage<TaskResponse> filterTasks(TaskFilterRequest filter, TaskSortKey sortKey,
+                                                Sort.Direction direction, String cursor, int size) {
+        checkRange("due", filter.getDueFrom(), filter.getDueTo());
+        checkRange("completed", filter.getCompletedFrom(), filter.getCompletedTo());
+
+        Specification<Task> spec = Specification.where(TaskSpecifications.fetchSummary());
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+            spec = spec.and(TaskSpecifications.hasStatusIn(filter.getStatuses()));
+        }
+        if (filter.getPriorities() != null && !filter.getPriorities().isEmpty()) {
+            spec = spec.and(TaskSpecifications.hasPriorityIn(filter.getPriorities()));
+        }
+        if (filter.getAssigneeId() != null) {
+            spec = spec.and(TaskSpecifications.assignedTo(filter.getAssigneeId()));
+        }
+        if (filter.getCreatorId() != null) {
+            spec = spec.and(TaskSpecifications.createdBy(filter.getCreatorId()));
+        }
+        if (filter.getProjectId() != null) {
+            spec = spec.and(TaskSpecifications.inProject(filter.getProjectId()));
+        }
+        if (filter.getTeamId() != null) {
+            spec = spec.and(TaskSpecifications.inTeam(filter.getTeamId()));
+        }
+        if (filter.getDueFrom() != null || filter.getDueTo() != null) {
+            spec = spec.and(TaskSpecifications.dueBetween(filter.getDueFrom(), filter.getDueTo()));
+        }
+        if (filter.getCompletedFrom() != null || filter.getCompletedTo() != null) {
+            spec = spec.and(TaskSpecifications.completedBetween(filter.getCompletedFrom(), filter.getCompletedTo()));
+        }
+
+        return findPage(spec, sortKey, direction, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> searchTasks(String keyword) {
-        return taskRepository.searchTasks(keyword).stream()
-                .map(entityMapper::toTaskResponse)
-                .collect(Collectors.toList());
+    public CursorPage<TaskResponse> searchTasks(String query, Task.Status status, String cursor, int size) {
+        int pageSize = PageCursor.clampSize(size);
+
+        Double afterScore = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor position = PageCursor.decode(cursor, RELEVANCE, Sort.Direction.DESC);
+            try {
+                afterScore = Double.valueOf(position.getValue());
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            afterId = position.getId();
+        }
+
+        List<TaskSearchIndex.Hit> hits = searchIndex.search(query, status, afterScore, afterId, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        List<TaskSearchIndex.Hit> page = hasMore ? hits.subList(0, pageSize) : hits;
+
+        List<Long> taskIds = page.stream().map(TaskSearchIndex.Hit::getTaskId).collect(Collectors.toList());
+        List<TaskResponse> items = findSummariesInOrder(taskIds);
+
+        // Hits whose task was removed by a cascade (project or team delete) that the index did not see;
+        // a replica may just not have the task yet, so only the primary's word removes a hit
+        if (items.size() < taskIds.size() && !ReadRouting.isReadingReplica()) {
+            Set<Long> found = items.stream().map(TaskResponse::getId).collect(Collectors.toSet());
+            taskIds.stream().filter(id -> !found.contains(id)).forEach(searchIndex::remove);
+        }
+
+        String next = null;
+        if (hasMore) {
+            TaskSearchIndex.Hit last = page.get(page.size() - 1);
+            next = PageCursor.encode(RELEVANCE, Sort.Direction.DESC, last.getTaskId(), Double.toString(last.getScore()));
+        }
+
+        return CursorPage.<TaskResponse>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .next(next)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getMyTasks(Task.Status status, String cursor, int size) {
+        Long currentUserId = userService.getCurrentUserId();
+        CursorPage<Long> taskIds = inboxService.findPage(currentUserId, status, cursor, size);
+        List<TaskResponse> items = findSummariesInOrder(taskIds.getItems());
+
+        return CursorPage.<TaskResponse>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(taskIds.getHasMore())
+                .next(taskIds.getNext())
+                .build();
     }
 
     @Transactional
-    public TaskResponse updateTask(Long id, TaskRequest request) {
+    public TaskResponse updateTask(Long id, TaskRequest request, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        OptimisticConcurrency.checkVersion(Task.class, id, task.getVersion(), expectedVersion);
+        writeBehind.applyPending(task);
+        Task.Status previousStatus = task.getStatus();
+        User previousAssignee = task.getAssignee();
 
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
+        User assignee = null;
+        if (request.getAssigneeId() != null) {
+            assignee = userRepository.findById(request.getAssigneeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getAssigneeId()));
         }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+        applyChanges(task, request, assignee);
+
+        // Flushed so the response carries the incremented version
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        counterService.taskChanged(projectIdOf(task), previousStatus, projectIdOf(task), updatedTask.getStatus());
+        if (previousStatus != updatedTask.getStatus()) {
+            inboxService.taskStatusChanged(updatedTask);
         }
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
-            if (request.getStatus() == Task.Status.COMPLETED) {
-                task.setCompletedAt(LocalDateTime.now());
-            }
+        inboxService.taskReassigned(updatedTask, previousAssignee);
+        searchIndexer.taskSaved(updatedTask);
+
+        return entityMapper.toTaskResponse(updatedTask);
+    }
+
+    /**
+     * Applies a JSON Merge Patch. Only the columns it changes are written; a patch that changes
+     * nothing writes nothing, so neither updatedAt nor the version moves.
+     */
+    @Transactional
+    public TaskResponse patchTask(Long id, JsonNode document, Long expectedVersion) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        OptimisticConcurrency.checkVersion(Task.class, id, task.getVersion(), expectedVersion);
+        MergePatch patch = MergePatch.of(document, PATCHABLE_FIELDS, objectMapper);
+        boolean buffered = writeBehind.applyPending(task);
+        Task.Status previousStatus = task.getStatus();
+        User previousAssignee = task.getAssignee();
+
+        patch.applyRequired("title", String.class, task::getTitle, task::setTitle);
+        patch.apply("description", String.class, task::getDescription, task::setDescription);
+        patch.applyRequired("status", Task.Status.class, task::getStatus, task::setStatus);
+        patch.applyRequired("priority", Task.Priority.class, task::getPriority, task::setPriority);
+        patch.apply("dueDate", LocalDateTime.class, task::getDueDate, task::setDueDate);
+        if (patch.has("assigneeId")) {
+            patch.update(patch.value("assigneeId", Long.class),
+                    () -> previousAssignee != null ? previousAssignee.getId() : null,
+                    assigneeId -> task.setAssignee(assigneeId == null ? null : userRepository.findById(assigneeId)
+                            .orElseThrow(() -> new ResourceNotFoundException("User", "id", assigneeId))));
         }
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority());
+        if (!patch.isChanged() && !buffered) {
+            return entityMapper.toTaskResponse(task);
         }
-        if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
+        if (task.getStatus() == Task.Status.COMPLETED && previousStatus != Task.Status.COMPLETED) {
+            task.setCompletedAt(LocalDateTime.now());
         }
-        if (request.getAssigneeId() != null) {
-            User assignee = userRepository.findById(request.getAssigneeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", request.getAssigneeId()));
-            task.setAssignee(assignee);
+
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        counterService.taskChanged(projectIdOf(task), previousStatus, projectIdOf(task), updatedTask.getStatus());
+        if (previousStatus != updatedTask.getStatus()) {
+            inboxService.taskStatusChanged(updatedTask);
         }
+        inboxService.taskReassigned(updatedTask, previousAssignee);
+        searchIndexer.taskSaved(updatedTask);
 
-        Task updatedTask = taskRepository.save(task);
         return entityMapper.toTaskResponse(updatedTask);
     }
 
@@ -134,33 +304,325 @@ public class TaskService {
     public void deleteTask(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        writeBehind.applyPending(task);
 
         taskRepository.delete(task);
+        counterService.taskRemoved(projectIdOf(task), task.getStatus());
+        searchIndexer.taskDeleted(id);
+        eventPublisher.publishEvent(new TaskDeletedEvent(id));
     }
 
     @Transactional
-    public TaskResponse assignTask(Long taskId, Long assigneeId) {
+    public TaskResponse assignTask(Long taskId, Long assigneeId, Long expectedVersion) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
+        OptimisticConcurrency.checkVersion(Task.class, taskId, task.getVersion(), expectedVersion);
 
         User assignee = userRepository.findById(assigneeId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", assigneeId));
+        if (expectedVersion == null && writeBuffer.assign(taskId, entityMapper.toUserResponse(assignee))) {
+            return entityMapper.toTaskResponse(task);
+        }
+        writeBehind.applyPending(task);
+        User previousAssignee = task.getAssignee();
 
         task.setAssignee(assignee);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        inboxService.taskReassigned(updatedTask, previousAssignee);
 
         return entityMapper.toTaskResponse(updatedTask);
     }
 
     @Transactional
-    public TaskResponse markAsCompleted(Long id) {
+    public TaskResponse markAsCompleted(Long id, Long expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", id));
+        OptimisticConcurrency.checkVersion(Task.class, id, task.getVersion(), expectedVersion);
+        if (expectedVersion == null && writeBuffer.complete(id)) {
+            return entityMapper.toTaskResponse(task);
+        }
+        writeBehind.applyPending(task);
+        Task.Status previousStatus = task.getStatus();
 
         task.setStatus(Task.Status.COMPLETED);
         task.setCompletedAt(LocalDateTime.now());
 
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        counterService.taskChanged(projectIdOf(task), previousStatus, projectIdOf(task), Task.Status.COMPLETED);
+        inboxService.taskStatusChanged(updatedTask);
+        searchIndexer.taskSaved(updatedTask);
+
         return entityMapper.toTaskResponse(updatedTask);
     }
+
+    /**
+     * Applies a batch of create, update and assign operations in one transaction. Referenced
+     * projects, users and tasks are loaded with one IN query each and the resulting inserts and
+     * updates are flushed as JDBC batches. An operation that fails validation, references a
+     * missing row or expects a version the task no longer has is reported in its result without
+     * affecting the others.
+     */
+    @Transactional
+    public BulkTaskResponse bulkApply(List<BulkTaskOperation> operations) {
+        if (operations.size() > maxBulkOperations) {
+            throw new BadRequestException("A bulk request may contain at most " + maxBulkOperations + " operations");
+        }
+        User currentUser = userService.getCurrentUserEntity();
+
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> taskIds = new HashSet<>();
+        for (BulkTaskOperation operation : operations) {
+            TaskRequest request = operation.getTask();
+            if (request != null) {
+                if (operation.getType() == BulkTaskOperation.Type.CREATE && request.getProjectId() != null) {
+                    projectIds.add(request.getProjectId());
+                }
+                if (request.getAssigneeId() != null) {
+                    userIds.add(request.getAssigneeId());
+                }
+            }
+            if (operation.getAssigneeId() != null) {
+                userIds.add(operation.getAssigneeId());
+            }
+            if (operation.getTaskId() != null) {
+                taskIds.add(operation.getTaskId());
+            }
+        }
+        Map<Long, Project> projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Task> tasks = taskIds.isEmpty() ? Map.of() : taskRepository.findSummariesByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        tasks.values().forEach(writeBehind::applyPending);
+
+        CounterService.TaskCountBatch counts = counterService.taskCountBatch();
+        List<Task> created = new ArrayList<>();
+        List<TaskChange> changes = new ArrayList<>();
+        Task[] outcomes = new Task[operations.size()];
+        String[] errors = new String[operations.size()];
+
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation operation = operations.get(i);
+            try {
+                TaskRequest request = operation.getTask();
+                Task task;
+                switch (operation.getType()) {
+                    case CREATE -> {
+                        if (request == null) {
+                            throw new BadRequestException("Task details are required");
+                        }
+                        validate(request, false);
+                        Project project = request.getProjectId() != null
+                                ? lookup(projects, "Project", request.getProjectId()) : null;
+                        User assignee = request.getAssigneeId() != null
+                                ? lookup(users, "User", request.getAssigneeId()) : null;
+                        task = newTask(request, currentUser, project, assignee);
+                        created.add(task);
+                    }
+                    case UPDATE -> {
+                        if (request == null) {
+                            throw new BadRequestException("Task details are required");
+                        }
+                        validate(request, true);
+                        task = lookup(tasks, "Task", operation.getTaskId());
+                        OptimisticConcurrency.checkVersion(Task.class, task.getId(), task.getVersion(),
+                                operation.getVersion());
+                        User assignee = request.getAssigneeId() != null
+                                ? lookup(users, "User", request.getAssigneeId()) : null;
+                        TaskChange change = new TaskChange(task, task.getStatus(), task.getAssignee());
+                        applyChanges(task, request, assignee);
+                        counts.taskChanged(projectIdOf(task), change.previousStatus(), projectIdOf(task), task.getStatus());
+                        changes.add(change);
+                    }
+                    case ASSIGN -> {
+                        task = lookup(tasks, "Task", operation.getTaskId());
+                        OptimisticConcurrency.checkVersion(Task.class, task.getId(), task.getVersion(),
+                                operation.getVersion());
+                        User assignee = lookup(users, "User", operation.getAssigneeId());
+                        TaskChange change = new TaskChange(task, task.getStatus(), task.getAssignee());
+                        task.setAssignee(assignee);
+                        changes.add(change);
+                    }
+                    default -> throw new IllegalStateException("Unknown operation " + operation.getType());
+                }
+                outcomes[i] = task;
+            } catch (BadRequestException | ResourceNotFoundException ex) {
+                errors[i] = ex.getMessage();
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                errors[i] = "Task " + operation.getTaskId() + " has been modified since version "
+                        + operation.getVersion() + " was read";
+            }
+        }
+
+        // Tasks are flushed as one batch so created_at is generated before the inbox entries copy it
+        taskRepository.saveAll(created);
+        taskRepository.flush();
+        inboxService.tasksCreated(created);
+        created.forEach(task -> counts.taskAdded(projectIdOf(task), task.getStatus()));
+        counts.apply();
+
+        for (TaskChange change : changes) {
+            if (change.previousStatus() != change.task().getStatus()) {
+                inboxService.taskStatusChanged(change.task());
+            }
+            inboxService.taskReassigned(change.task(), change.previousAssignee());
+        }
+        Set<Long> indexed = new HashSet<>();
+        for (Task task : outcomes) {
+            if (task != null && indexed.add(task.getId())) {
+                searchIndexer.taskSaved(task);
+            }
+        }
+
+        List<BulkTaskResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            if (errors[i] != null) {
+                failed++;
+                results.add(BulkTaskResult.builder().index(i).success(false).error(errors[i]).build());
+            } else {
+                results.add(BulkTaskResult.builder().index(i).success(true)
+                        .task(entityMapper.toTaskResponse(outcomes[i])).build());
+            }
+        }
+
+        return BulkTaskResponse.builder()
+                .succeeded(operations.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Validates a bulk operation's task like the request body of POST /api/tasks. A partial
+     * request (UPDATE) only applies the fields it contains, so absent fields are not required.
+     */
+    private void validate(TaskRequest request, boolean partial) {
+        List<String> messages = validator.validate(request).stream()
+                .filter(violation -> !partial || violation.getInvalidValue() != null)
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!messages.isEmpty()) {
+            throw new BadRequestException(String.join("; ", messages));
+        }
+    }
+
+    private CursorPage<TaskResponse> findPage(Specification<Task> spec, TaskSortKey sortKey,
+                                              Sort.Direction direction, String cursor, int size) {
+        int pageSize = PageCursor.clampSize(size);
+
+        // Resume after the last row of the previous page instead of skipping with an OFFSET
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor position = PageCursor.decode(cursor, sortKey.name(), direction);
+            Comparable<?> value;
+            try {
+                value = sortKey.parse(position.getValue());
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            spec = spec.and(TaskSpecifications.after(sortKey, direction, value, position.getId()));
+        }
+
+        Sort sort = Sort.by(direction, sortKey.getProperty(), "id");
+        List<Task> tasks = taskRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<Task> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+
+        String next = null;
+        if (hasMore) {
+            Task last = page.get(page.size() - 1);
+            next = PageCursor.encode(sortKey.name(), direction, last.getId(), sortKey.format(last));
+        }
+
+        return CursorPage.<TaskResponse>builder()
+                .items(page.stream().map(entityMapper::toTaskResponse).collect(Collectors.toList()))
+                .size(page.size())
+                .hasMore(hasMore)
+                .next(next)
+                .build();
+    }
+
+    /**
+     * Loads the given tasks with their summary associations in one query, preserving the order of the ids
+     * and skipping ids that no longer exist.
+     */
+    private List<TaskResponse> findSummariesInOrder(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Task> tasks = taskRepository.findSummariesByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        return taskIds.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(entityMapper::toTaskResponse)
+                .collect(Collectors.toList());
+    }
+
+    private static Task newTask(TaskRequest request, User creator, Project project, User assignee) {
+        return Task.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .creator(creator)
+                .project(project)
+                .assignee(assignee)
+                .status(request.getStatus() != null ? request.getStatus() : Task.Status.OPEN)
+                .priority(request.getPriority() != null ? request.getPriority() : Task.Priority.MEDIUM)
+                .dueDate(request.getDueDate())
+                .build();
+    }
+
+    private static void applyChanges(Task task, TaskRequest request, User assignee) {
+        if (request.getTitle() != null) {
+            task.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            task.setDescription(request.getDescription());
+        }
+        if (request.getStatus() != null) {
+            task.setStatus(request.getStatus());
+            if (request.getStatus() == Task.Status.COMPLETED) {
+                task.setCompletedAt(LocalDateTime.now());
+            }
+        }
+        if (request.getPriority() != null) {
+            task.setPriority(request.getPriority());
+        }
+        if (request.getDueDate() != null) {
+            task.setDueDate(request.getDueDate());
+        }
+        if (assignee != null) {
+            task.setAssignee(assignee);
+        }
+    }
+
+    private static void checkRange(String name, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Invalid " + name + " date range: start is after end");
+        }
+    }
+
+    private static <T> T lookup(Map<Long, T> loaded, String resourceName, Long id) {
+        if (id == null) {
+            throw new BadRequestException(resourceName + " id is required");
+        }
+        T resource = loaded.get(id);
+        if (resource == null) {
+            throw new ResourceNotFoundException(resourceName, "id", id);
+        }
+        return resource;
+    }
+
+    private static Long projectIdOf(Task task) {
+        return task.getProject() != null ? task.getProject().getId() : null;
+    }
+
+    private record TaskChange(Task task, Task.Status previousStatus, User previousAssignee) {
+    }
 }
@@ -0,0 +1,177 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.repository.UserRepository;
+import com.sneakerhead.backend.search.TaskSearchIndexer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes the buffered task completions and assignments of {@link TaskWriteBuffer}. Every
+ * window the whole buffer is drained and written in transactions of up to
+ * {@code tasks.write-behind.batch-size} tasks, with the same counter, inbox and search index
+ * updates as a direct write. A batch that loses a version check against a concurrent write is
+ * retried; a batch that fails otherwise is written task by task so one bad row does not drop
+ * the rest. The buffer is flushed once more on shutdown.
+ * <p>
+ * Any direct write to a task first folds its buffered write in through {@link #applyPending},
+ * including one a flush is already writing, so a later direct write is never overwritten by an
+ * earlier buffered one.
+ */
+@Slf4j
+@Component
+public class TaskWriteBehindFlusher {
+
+    private final TaskWriteBuffer buffer;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final CounterService counterService;
+    private final TaskInboxService inboxService;
+    private final TaskSearchIndexer searchIndexer;
+    private final OptimisticConcurrency optimisticConcurrency;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter flushed;
+    private final Counter failed;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public TaskWriteBehindFlusher(TaskWriteBuffer buffer,
+                                  TaskRepository taskRepository,
+                                  UserRepository userRepository,
+                                  CounterService counterService,
+                                  TaskInboxService inboxService,
+                                  TaskSearchIndexer searchIndexer,
+                                  OptimisticConcurrency optimisticConcurrency,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${tasks.write-behind.batch-size:100}") int batchSize,
+                                  MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.counterService = counterService;
+        this.inboxService = inboxService;
+        this.searchIndexer = searchIndexer;
+        this.optimisticConcurrency = optimisticConcurrency;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushed = Counter.builder("tasks.write_behind.flushed")
+                .description("Tasks written by write-behind flushes")
+                .register(meterRegistry);
+        this.failed = Counter.builder("tasks.write_behind.failed")
+                .description("Buffered task writes dropped because they could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the buffered write of a task, if any, in the caller's transaction. Returns
+     * whether there was one.
+     */
+    public boolean applyPending(Task task) {
+        TaskWriteBuffer.PendingWrite write = buffer.take(task.getId());
+        if (write == null) {
+            return false;
+        }
+        CounterService.TaskCountBatch counts = counterService.taskCountBatch();
+        apply(task, write, counts);
+        counts.apply();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.write-behind.window:200}")
+    public void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<Map.Entry<Long, TaskWriteBuffer.PendingWrite>> writes = new ArrayList<>(buffer.drain().entrySet());
+            for (int from = 0; from < writes.size(); from += batchSize) {
+                flushBatch(writes.subList(from, Math.min(from + batchSize, writes.size())));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        buffer.close();
+        if (!buffer.isEmpty()) {
+            log.info("Flushing buffered task writes before shutdown");
+            flush();
+        }
+    }
+
+    void flushBatch(List<Map.Entry<Long, TaskWriteBuffer.PendingWrite>> batch) {
+        try {
+            flushed.increment(optimisticConcurrency.retrying(() -> write(batch)));
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind batch of {} tasks failed, writing them one by one: {}", batch.size(), ex.getMessage());
+            for (Map.Entry<Long, TaskWriteBuffer.PendingWrite> entry : batch) {
+                try {
+                    flushed.increment(optimisticConcurrency.retrying(() -> write(List.of(entry))));
+                } catch (RuntimeException taskEx) {
+                    failed.increment(entry.getValue().writes());
+                    log.error("Dropping buffered write to task {}", entry.getKey(), taskEx);
+                }
+            }
+        } finally {
+            batch.forEach(entry -> buffer.flushed(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private Integer write(List<Map.Entry<Long, TaskWriteBuffer.PendingWrite>> batch) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Task> tasks = new HashMap<>();
+            taskRepository.findAllById(batch.stream().map(Map.Entry::getKey).toList())
+                    .forEach(task -> tasks.put(task.getId(), task));
+            CounterService.TaskCountBatch counts = counterService.taskCountBatch();
+            for (Map.Entry<Long, TaskWriteBuffer.PendingWrite> entry : batch) {
+                // A task deleted since its write was buffered is skipped, and so is a write a
+                // direct write has taken and applied ahead of its own change: a retry after losing
+                // to that direct write must not write the older value over it
+                Task task = tasks.get(entry.getKey());
+                if (task != null && buffer.isFlushing(entry.getKey(), entry.getValue())) {
+                    apply(task, entry.getValue(), counts);
+                }
+            }
+            counts.apply();
+            return tasks.size();
+        });
+    }
+
+    private void apply(Task task, TaskWriteBuffer.PendingWrite write, CounterService.TaskCountBatch counts) {
+        Task.Status previousStatus = task.getStatus();
+        User previousAssignee = task.getAssignee();
+        if (write.completedAt() != null) {
+            task.setStatus(Task.Status.COMPLETED);
+            task.setCompletedAt(write.completedAt());
+        }
+        if (write.assignee() != null) {
+            task.setAssignee(userRepository.getReferenceById(write.assignee().getId()));
+        }
+
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        counts.taskChanged(projectId, previousStatus, projectId, task.getStatus());
+        if (previousStatus != task.getStatus()) {
+            inboxService.taskStatusChanged(task);
+        }
+        inboxService.taskReassigned(task, previousAssignee);
+        searchIndexer.taskSaved(task);
+    }
+}
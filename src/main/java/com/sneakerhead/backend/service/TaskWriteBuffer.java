@@ -0,0 +1,221 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.dto.response.TaskResponse;
+import com.sneakerhead.backend.dto.response.UserResponse;
+import com.sneakerhead.backend.entity.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completions and assignments accepted but not yet written, at most one pending write per
+ * task. A write to a task that already has one is merged into it, so a task toggled many
+ * times within a flush window costs one UPDATE. {@link TaskWriteBehindFlusher} writes them.
+ * <p>
+ * Task responses are overlaid with the pending write, so reads of a task see the latest
+ * accepted value; filtered queries see it once it is flushed. Held in memory on this
+ * instance only. With {@code tasks.write-behind.enabled} off nothing is ever buffered.
+ */
+@Component
+public class TaskWriteBuffer {
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    // Drained by a flush that has not committed yet; still overlaid on reads meanwhile
+    private final Map<Long, PendingWrite> flushing = new ConcurrentHashMap<>();
+    private final Counter buffered;
+    private final Counter coalesced;
+    private volatile boolean closed;
+
+    public TaskWriteBuffer(@Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                           @Value("${tasks.write-behind.max-pending:10000}") int maxPending,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.buffered = Counter.builder("tasks.write_behind.buffered")
+                .description("Task completions and assignments accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("tasks.write_behind.coalesced")
+                .description("Buffered task writes merged into an earlier pending write of the same task")
+                .register(meterRegistry);
+        Gauge.builder("tasks.write_behind.pending", pending, Map::size)
+                .description("Tasks with a buffered write awaiting flush")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers a completion. Returns {@code false} when the caller has to write it directly:
+     * the buffer is disabled, full or shutting down.
+     */
+    public boolean complete(Long taskId) {
+        return offer(taskId, new PendingWrite(LocalDateTime.now(), null, 1));
+    }
+
+    /**
+     * Buffers an assignment, see {@link #complete}.
+     */
+    public boolean assign(Long taskId, UserResponse assignee) {
+        return offer(taskId, new PendingWrite(null, assignee, 1));
+    }
+
+    private boolean offer(Long taskId, PendingWrite write) {
+        if (!enabled || closed || (pending.size() >= maxPending && !pending.containsKey(taskId))) {
+            return false;
+        }
+        pending.merge(taskId, write, (earlier, later) -> {
+            coalesced.increment();
+            return earlier.then(later);
+        });
+        buffered.increment();
+        return true;
+    }
+
+    /**
+     * Applies the buffered state of the task, if any, to a response built from the database.
+     */
+    public TaskResponse overlay(TaskResponse response) {
+        PendingWrite write = unwritten(response.getId());
+        if (write != null) {
+            write.applyTo(response);
+        }
+        return response;
+    }
+
+    /**
+     * How many accepted writes of the task are not yet written; part of its ETag, since they
+     * are overlaid on its responses.
+     */
+    public int pendingWrites(Long taskId) {
+        PendingWrite write = unwritten(taskId);
+        return write != null ? write.writes() : 0;
+    }
+
+    private PendingWrite unwritten(Long taskId) {
+        if (pending.isEmpty() && flushing.isEmpty()) {
+            return null;
+        }
+        PendingWrite inFlight = flushing.get(taskId);
+        PendingWrite write = pending.get(taskId);
+        if (inFlight != null) {
+            write = write != null ? inFlight.then(write) : inFlight;
+        }
+        return write;
+    }
+
+    /**
+     * Removes the unwritten write of a task, pending or in flight, so the caller's transaction
+     * can apply it together with its own change. A flush that has not committed it yet skips it
+     * from then on (see {@link #isFlushing}). It is put back if that transaction rolls back.
+     */
+    public PendingWrite take(Long taskId) {
+        PendingWrite inFlight = flushing.isEmpty() ? null : flushing.remove(taskId);
+        PendingWrite queued = pending.isEmpty() ? null : pending.remove(taskId);
+        PendingWrite write;
+        if (inFlight == null || inFlight == queued) {
+            // The same write is in both maps while drain() moves it
+            write = queued;
+        } else {
+            write = queued != null ? inFlight.then(queued) : inFlight;
+        }
+        if (write != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(taskId, write);
+                    }
+                }
+            });
+        }
+        return write;
+    }
+
+    /**
+     * Moves every pending write to the in-flight set and returns them.
+     */
+    Map<Long, PendingWrite> drain() {
+        Map<Long, PendingWrite> drained = new HashMap<>();
+        for (Map.Entry<Long, PendingWrite> entry : pending.entrySet()) {
+            Long taskId = entry.getKey();
+            PendingWrite write = entry.getValue();
+            // Visible as in flight before it leaves the pending map, so reads never miss it
+            flushing.put(taskId, write);
+            if (pending.remove(taskId, write)) {
+                drained.put(taskId, write);
+            } else {
+                // Merged with a newer write meanwhile; it goes with the next flush
+                flushing.remove(taskId, write);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Whether a drained write is still the flush's to write, i.e. no direct write has taken it.
+     */
+    boolean isFlushing(Long taskId, PendingWrite write) {
+        return flushing.get(taskId) == write;
+    }
+
+    void flushed(Long taskId, PendingWrite write) {
+        flushing.remove(taskId, write);
+    }
+
+    /**
+     * Returns a taken write whose transaction rolled back to the buffer, ahead of anything
+     * accepted since. If a flush had already written it, writing it again changes nothing.
+     */
+    void restore(Long taskId, PendingWrite write) {
+        pending.merge(taskId, write, (later, earlier) -> earlier.then(later));
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Stops accepting writes; later completions and assignments are written directly.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * The net effect of the buffered writes to one task: a completion time if it was completed,
+     * the assignee if it was assigned, and how many writes were merged.
+     */
+    public record PendingWrite(LocalDateTime completedAt, UserResponse assignee, int writes) {
+
+        PendingWrite then(PendingWrite later) {
+            return new PendingWrite(
+                    later.completedAt != null ? later.completedAt : completedAt,
+                    later.assignee != null ? later.assignee : assignee,
+                    writes + later.writes);
+        }
+
+        void applyTo(TaskResponse response) {
+            if (completedAt != null) {
+                response.setStatus(Task.Status.COMPLETED);
+                response.setCompletedAt(completedAt);
+            }
+            if (assignee != null) {
+                response.setAssignee(assignee);
+            }
+            response.setPendingWrites(writes);
+        }
+    }
+}
@@ -4,17 +4,23 @@ import com.sneakerhead.backend.dto.request.TeamRequest;
 import com.sneakerhead.backend.dto.response.TeamResponse;
 import com.sneakerhead.backend.entity.Team;
 import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.event.TaskDeletedEvent;
+import com.sneakerhead.backend.event.TeamChangedEvent;
 import com.sneakerhead.backend.exception.BadRequestException;
 import com.sneakerhead.backend.exception.ResourceNotFoundException;
+import com.sneakerhead.backend.repository.CachedEntityLoader;
 import com.sneakerhead.backend.repository.TeamRepository;
 import com.sneakerhead.backend.repository.UserRepository;
 import com.sneakerhead.backend.util.EntityMapper;
+import com.sneakerhead.backend.util.ResponseValidators;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +31,8 @@ public class TeamService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final EntityMapper entityMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CachedEntityLoader cachedEntityLoader;
 
     @Transactional
     public TeamResponse createTeam(TeamRequest request) {
@@ -53,6 +61,15 @@ public class TeamService {
         return entityMapper.toTeamResponse(team);
     }
 
+    /**
+     * The validators of a team's current representation, from its tag columns instead of the
+     * team and its members.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResponseValidators> getTeamValidators(Long id) {
+        return teamRepository.findTagById(id).map(ResponseValidators::of);
+    }
+
     @Transactional(readOnly = true)
     public List<TeamResponse> getAllTeams() {
         return teamRepository.findAll().stream()
@@ -62,21 +79,30 @@ public class TeamService {
 
     @Transactional(readOnly = true)
     public List<TeamResponse> getMyTeams() {
-        User currentUser = userService.getCurrentUserEntity();
-        return teamRepository.findTeamsByMemberId(currentUser.getId()).stream()
+        Long currentUserId = userService.getCurrentUserId();
+        return cachedEntityLoader.findAllById(Team.class, teamRepository.findTeamIdsByMemberId(currentUserId)).stream()
                 .map(entityMapper::toTeamResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The validators of the current user's team list, from the tag columns of those teams.
+     */
+    @Transactional(readOnly = true)
+    public ResponseValidators getMyTeamsValidators() {
+        return ResponseValidators.ofCollection(teamRepository.findTagsByMemberId(userService.getCurrentUserId()));
+    }
+
     @Transactional
-    public TeamResponse updateTeam(Long id, TeamRequest request) {
+    public TeamResponse updateTeam(Long id, TeamRequest request, Long expectedVersion) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Team", "id", id));
+        OptimisticConcurrency.checkVersion(Team.class, id, team.getVersion(), expectedVersion);
 
-        User currentUser = userService.getCurrentUserEntity();
+        Long currentUserId = userService.getCurrentUserId();
 
         // Check if current user is the owner
-        if (!team.getOwner().getId().equals(currentUser.getId())) {
+        if (!team.getOwner().getId().equals(currentUserId)) {
             throw new BadRequestException("Only team owner can update team details");
         }
 
@@ -87,7 +113,8 @@ public class TeamService {
             team.setDescription(request.getDescription());
         }
 
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
+        eventPublisher.publishEvent(new TeamChangedEvent(id));
         return entityMapper.toTeamResponse(updatedTeam);
     }
 
@@ -96,14 +123,18 @@ public class TeamService {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Team", "id", id));
 
-        User currentUser = userService.getCurrentUserEntity();
+        Long currentUserId = userService.getCurrentUserId();
 
         // Check if current user is the owner
-        if (!team.getOwner().getId().equals(currentUser.getId())) {
+        if (!team.getOwner().getId().equals(currentUserId)) {
             throw new BadRequestException("Only team owner can delete the team");
         }
 
+        // The cascade deletes every project and task of the team with it
+        team.getProjects().forEach(project -> project.getTasks()
+                .forEach(task -> eventPublisher.publishEvent(new TaskDeletedEvent(task.getId()))));
         teamRepository.delete(team);
+        eventPublisher.publishEvent(new TeamChangedEvent(id));
     }
 
     @Transactional
@@ -114,15 +145,16 @@ public class TeamService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        User currentUser = userService.getCurrentUserEntity();
+        Long currentUserId = userService.getCurrentUserId();
 
         // Check if current user is the owner
-        if (!team.getOwner().getId().equals(currentUser.getId())) {
+        if (!team.getOwner().getId().equals(currentUserId)) {
             throw new BadRequestException("Only team owner can add members");
         }
 
         team.getMembers().add(user);
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
+        eventPublisher.publishEvent(new TeamChangedEvent(teamId));
 
         return entityMapper.toTeamResponse(updatedTeam);
     }
@@ -135,10 +167,10 @@ public class TeamService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        User currentUser = userService.getCurrentUserEntity();
+        Long currentUserId = userService.getCurrentUserId();
 
         // Check if current user is the owner
-        if (!team.getOwner().getId().equals(currentUser.getId())) {
+        if (!team.getOwner().getId().equals(currentUserId)) {
             throw new BadRequestException("Only team owner can remove members");
         }
 
@@ -148,7 +180,8 @@ public class TeamService {
         }
 
         team.getMembers().remove(user);
-        Team updatedTeam = teamRepository.save(team);
+        Team updatedTeam = teamRepository.saveAndFlush(team);
+        eventPublisher.publishEvent(new TeamChangedEvent(teamId));
 
         return entityMapper.toTeamResponse(updatedTeam);
     }
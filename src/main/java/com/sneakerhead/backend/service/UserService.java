@@ -4,6 +4,7 @@ import com.sneakerhead.backend.dto.response.UserResponse;
 import com.sneakerhead.backend.entity.User;
 import com.sneakerhead.backend.exception.ResourceNotFoundException;
 import com.sneakerhead.backend.repository.UserRepository;
+import com.sneakerhead.backend.security.UserPrincipal;
 import com.sneakerhead.backend.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -24,22 +25,34 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findById(getCurrentPrincipal().getId())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return entityMapper.toUserResponse(user);
     }
 
+    /**
+     * Returns a lazy reference to the authenticated user. The id comes from the cached
+     * principal, so no query runs unless the caller reads other fields.
+     */
     @Transactional(readOnly = true)
     public User getCurrentUserEntity() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
+        return userRepository.getReferenceById(getCurrentPrincipal().getId());
+    }
 
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    /**
+     * Returns the authenticated user's id straight from the principal, without touching the database.
+     */
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    public UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return principal;
     }
 
     @Transactional(readOnly = true)
@@ -74,4 +87,29 @@ public class UserService {
         User updatedUser = userRepository.save(currentUser);
         return entityMapper.toUserResponse(updatedUser);
     }
+
+    @Transactional
+    public UserResponse changeRole(Long id, User.Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        user.setRole(role);
+        // Tokens carry the role, so the ones issued before the change are revoked
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User updatedUser = userRepository.save(user);
+        return entityMapper.toUserResponse(updatedUser);
+    }
+
+    @Transactional
+    public UserResponse setActive(Long id, boolean active) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        user.setActive(active);
+        if (!active) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+        User updatedUser = userRepository.save(user);
+        return entityMapper.toUserResponse(updatedUser);
+    }
 }
@@ -0,0 +1,65 @@
+package com.sneakerhead.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sneakerhead.backend.security.UserPrincipal;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders reads against the writes of the same user. Every read-write transaction a user
+ * commits advances the clock, and the time of their last commit is remembered for
+ * {@link #MEMORY}. {@link ReadCoalescer} uses it so a caller never shares a read that began
+ * before their own last write.
+ * <p>
+ * Registered with the transaction manager as an execution listener; only transactions on
+ * this instance are seen.
+ */
+@Component
+public class WriteClock implements TransactionExecutionListener {
+
+    static final Duration MEMORY = Duration.ofMinutes(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<Long, Long> lastWrites = Caffeine.newBuilder()
+            .expireAfterWrite(MEMORY)
+            .maximumSize(100_000)
+            .build();
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId != null) {
+            lastWrites.put(userId, clock.incrementAndGet());
+        }
+    }
+
+    public long now() {
+        return clock.get();
+    }
+
+    /**
+     * Whether the current user committed a write after the given time of this clock.
+     */
+    public boolean wroteSince(long time) {
+        Long userId = currentUserId();
+        Long lastWrite = userId != null ? lastWrites.getIfPresent(userId) : null;
+        return lastWrite != null && lastWrite > time;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId() : null;
+    }
+}
@@ -2,13 +2,18 @@ package com.sneakerhead.backend.util;
 
 import com.sneakerhead.backend.dto.response.*;
 import com.sneakerhead.backend.entity.*;
+import com.sneakerhead.backend.service.TaskWriteBuffer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class EntityMapper {
 
+    private final TaskWriteBuffer taskWriteBuffer;
+
     public UserResponse toUserResponse(User user) {
         if (user == null) {
             return null;
@@ -33,7 +38,8 @@ public class EntityMapper {
             return null;
         }
 
-        return TaskResponse.builder()
+        // Includes a completion or assignment still in the write-behind buffer
+        return taskWriteBuffer.overlay(TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
                 .description(task.getDescription())
@@ -47,9 +53,14 @@ public class EntityMapper {
                 .completedAt(task.getCompletedAt())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
-                .commentsCount(task.getComments() != null ? task.getComments().size() : 0)
-                .attachmentsCount(task.getAttachments() != null ? task.getAttachments().size() : 0)
-                .build();
+                .commentsCount(task.getCommentsCount())
+                .attachmentsCount(task.getAttachmentsCount())
+                .version(task.getVersion())
+                .references(Versioned.references(
+                        task.getProject() != null ? task.getProject().getVersion() : null,
+                        task.getCreator() != null ? task.getCreator().getUpdatedAt() : null,
+                        task.getAssignee() != null ? task.getAssignee().getUpdatedAt() : null))
+                .build());
     }
 
     public TeamResponse toTeamResponse(Team team) {
@@ -65,10 +76,11 @@ public class EntityMapper {
                 .members(team.getMembers() != null ? team.getMembers().stream()
                         .map(this::toUserResponse)
                         .collect(Collectors.toSet()) : null)
-                .projectsCount(team.getProjects() != null ? team.getProjects().size() : 0)
+                .projectsCount(team.getProjectsCount())
                 .active(team.getActive())
                 .createdAt(team.getCreatedAt())
                 .updatedAt(team.getUpdatedAt())
+                .version(team.getVersion())
                 .build();
     }
 
@@ -84,11 +96,17 @@ public class EntityMapper {
                 .teamId(project.getTeam() != null ? project.getTeam().getId() : null)
                 .teamName(project.getTeam() != null ? project.getTeam().getName() : null)
                 .status(project.getStatus())
-                .tasksCount(project.getTasks() != null ? project.getTasks().size() : 0)
+                .tasksCount(project.getTasksCount())
+                .openTasksCount(project.getOpenTasksCount())
+                .inProgressTasksCount(project.getInProgressTasksCount())
+                .completedTasksCount(project.getCompletedTasksCount())
+                .cancelledTasksCount(project.getCancelledTasksCount())
                 .startDate(project.getStartDate())
                 .endDate(project.getEndDate())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
+                .version(project.getVersion())
+                .references(Versioned.references(project.getTeam() != null ? project.getTeam().getVersion() : null))
                 .build();
     }
 
@@ -123,4 +141,36 @@ public class EntityMapper {
                 .uploadedAt(attachment.getUploadedAt())
                 .build();
     }
+
+    public ImportJobResponse toImportJobResponse(ImportJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    public ImportJobErrorResponse toImportJobErrorResponse(ImportJobError error) {
+        if (error == null) {
+            return null;
+        }
+
+        return ImportJobErrorResponse.builder()
+                .rowNumber(error.getRowNumber())
+                .message(error.getMessage())
+                .build();
+    }
 }
@@ -0,0 +1,102 @@
+package com.sneakerhead.backend.util;
+
+import com.sneakerhead.backend.dto.response.Versioned;
+import com.sneakerhead.backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Entity tags of versioned resources: the quoted entity version, followed by the state that
+ * changes without a version bump, e.g. {@code "7.12.3"}. If-Match only compares the version;
+ * If-None-Match compares whole tags.
+ */
+public final class EntityTags {
+
+    // 128 bits of the digest are plenty to tell two collections apart
+    private static final int COLLECTION_TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    public static String of(Versioned resource) {
+        return of(resource.getVersion(), resource.tagState());
+    }
+
+    public static String of(Long version, Object... state) {
+        StringBuilder tag = new StringBuilder("\"").append(version);
+        for (Object part : state) {
+            tag.append('.').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Tag of a list of resources: a digest of their ids and tags in order, so it changes when
+     * one of them changes, or one is added, removed or moved.
+     */
+    public static String ofCollection(List<? extends Versioned> resources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Versioned resource : resources) {
+                digest.update((resource.getId() + "=" + of(resource) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), COLLECTION_TAG_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current tag, using the weak comparison the
+     * header calls for: "*", or any listed tag equal to it once a {@code W/} prefix is dropped.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an If-Match header into the expected version, or {@code null} when the header is
+     * absent or "*" (the update is then unconditional).
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int stateStart = tag.indexOf('.');
+        if (stateStart >= 0) {
+            tag = tag.substring(0, stateStart);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("If-Match must be a single entity tag returned by this API");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sneakerhead.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sneakerhead.backend.exception.BadRequestException;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A JSON Merge Patch (RFC 7396) document applied field by field to an entity. A field that
+ * is absent is left alone and an explicit null clears it. Setters are only called for values
+ * that differ from the current ones, so an entity patched with its own state stays clean and
+ * Hibernate does not write it.
+ */
+public final class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final JsonNode document;
+    private final ObjectMapper objectMapper;
+    private boolean changed;
+
+    private MergePatch(JsonNode document, ObjectMapper objectMapper) {
+        this.document = document;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Wraps a patch document, rejecting anything but an object whose fields are all patchable.
+     */
+    public static MergePatch of(JsonNode document, Set<String> patchableFields, ObjectMapper objectMapper) {
+        if (document == null || !document.isObject()) {
+            throw new BadRequestException("A merge patch must be a JSON object");
+        }
+        for (Iterator<String> names = document.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!patchableFields.contains(name)) {
+                throw new BadRequestException("Field '" + name + "' cannot be patched");
+            }
+        }
+        return new MergePatch(document, objectMapper);
+    }
+
+    public boolean has(String field) {
+        return document.has(field);
+    }
+
+    /**
+     * Reads a field of the patch, {@code null} if it is absent or explicitly null.
+     */
+    public <T> T value(String field, Class<T> type) {
+        JsonNode node = document.get(field);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(node, type);
+        } catch (Exception ex) {
+            throw new BadRequestException("Invalid value for field '" + field + "'");
+        }
+    }
+
+    /**
+     * Sets a field that may be cleared with null.
+     */
+    public <T> void apply(String field, Class<T> type, Supplier<T> current, Consumer<T> setter) {
+        if (has(field)) {
+            update(value(field, type), current, setter);
+        }
+    }
+
+    /**
+     * Sets a field that cannot be null; blank strings are rejected as well.
+     */
+    public <T> void applyRequired(String field, Class<T> type, Supplier<T> current, Consumer<T> setter) {
+        if (!has(field)) {
+            return;
+        }
+        T value = value(field, type);
+        if (value == null || value instanceof String text && text.isBlank()) {
+            throw new BadRequestException("Field '" + field + "' cannot be empty");
+        }
+        update(value, current, setter);
+    }
+
+    /**
+     * Records a change made outside {@link #apply}, e.g. to an association resolved by id.
+     */
+    public <T> void update(T value, Supplier<T> current, Consumer<T> setter) {
+        if (!Objects.equals(value, current.get())) {
+            setter.accept(value);
+            changed = true;
+        }
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+}
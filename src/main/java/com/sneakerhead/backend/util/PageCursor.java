@@ -0,0 +1,64 @@
+package com.sneakerhead.backend.util;
+
+import com.sneakerhead.backend.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor. Encodes the sort key, direction and the (value, id) pair of the
+ * last row of a page so the next page can resume with an index range scan instead of an OFFSET.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private final String sort;
+    private final Sort.Direction direction;
+    private final Long id;
+    private final String value;
+
+    public static String encode(String sort, Sort.Direction direction, Long id, String value) {
+        String raw = String.join(SEPARATOR, sort, direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token, String expectedSort, Sort.Direction expectedDirection) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+
+        if (parts.length != 4) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        if (!parts[0].equals(expectedSort) || !parts[1].equals(expectedDirection.name())) {
+            throw new BadRequestException("Page cursor does not match the requested sort order");
+        }
+
+        try {
+            return new PageCursor(parts[0], expectedDirection, Long.valueOf(parts[2]), parts[3]);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    public static int clampSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
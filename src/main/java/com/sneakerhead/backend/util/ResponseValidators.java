@@ -0,0 +1,61 @@
+package com.sneakerhead.backend.util;
+
+import com.sneakerhead.backend.dto.response.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The ETag and Last-Modified of a representation. Built either from the response, or from a
+ * lookup of only the fields the tag is made of, so that a poll whose If-None-Match still
+ * matches is answered with 304 without loading and mapping the resource.
+ * <p>
+ * Responses are marked {@code Cache-Control: no-cache, private} instead of Spring Security's
+ * {@code no-store}, so clients keep them and revalidate on every use. Last-Modified is
+ * informational: counter changes do not move {@code updatedAt}, so only If-None-Match is
+ * answered with 304.
+ */
+public record ResponseValidators(String eTag, LocalDateTime lastModified) {
+
+    public static ResponseValidators of(Versioned resource) {
+        return new ResponseValidators(EntityTags.of(resource), resource.getUpdatedAt());
+    }
+
+    public static ResponseValidators ofCollection(List<? extends Versioned> resources) {
+        LocalDateTime lastModified = resources.stream()
+                .map(Versioned::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new ResponseValidators(EntityTags.ofCollection(resources), lastModified);
+    }
+
+    public boolean matches(String ifNoneMatch) {
+        return EntityTags.matches(ifNoneMatch, eTag);
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        return ok().body(body);
+    }
+
+    public ResponseEntity.BodyBuilder ok() {
+        return headers(ResponseEntity.ok());
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+    }
+
+    private ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder response) {
+        response.eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified != null) {
+            response.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return response;
+    }
+}
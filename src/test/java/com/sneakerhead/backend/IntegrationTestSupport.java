@@ -0,0 +1,87 @@
+package com.sneakerhead.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base of the tests that drive the application through its HTTP API. Each test registers
+ * users of its own, so tests sharing an application context do not see each other's data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public abstract class IntegrationTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    /**
+     * Registers a user with a unique name and returns the authentication response.
+     */
+    protected JsonNode register(String name) throws Exception {
+        String username = name + "-" + UUID.randomUUID().toString().substring(0, 8);
+        MvcResult started = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("username", username, "email", username + "@example.com",
+                                "password", "secret12", "fullName", name))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return read(mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    protected static MockHttpServletRequestBuilder as(JsonNode auth, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + auth.get("token").asText());
+    }
+
+    protected static MockHttpServletRequestBuilder withJson(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    /**
+     * Creates a team with one project as the user and returns the project id.
+     */
+    protected long createProject(JsonNode auth) throws Exception {
+        JsonNode team = read(mockMvc.perform(as(auth, withJson(post("/api/teams"), json(Map.of("name", "Team")))))
+                .andExpect(status().isCreated())
+                .andReturn());
+        JsonNode project = read(mockMvc.perform(as(auth, withJson(post("/api/projects"),
+                        json(Map.of("name", "Project", "teamId", team.get("id").asLong())))))
+                .andExpect(status().isCreated())
+                .andReturn());
+        return project.get("id").asLong();
+    }
+
+    protected JsonNode createTask(JsonNode auth, Map<String, Object> fields) throws Exception {
+        return read(mockMvc.perform(as(auth, withJson(post("/api/tasks"), json(fields))))
+                .andExpect(status().isCreated())
+                .andReturn());
+    }
+
+    protected String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    protected JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
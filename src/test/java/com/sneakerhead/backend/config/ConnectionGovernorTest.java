@@ -0,0 +1,96 @@
+package com.sneakerhead.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionGovernorTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionGovernor governor = new ConnectionGovernor(pool, "test", 1, 1, Duration.ofMillis(100));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        governor.bindTo(meterRegistry);
+    }
+
+    @Test
+    void connectionHoldsItsPermitUntilClosed() throws SQLException {
+        Connection held = governor.getConnection();
+        assertThat(gauge("datasource.governor.available")).isZero();
+
+        assertThatThrownBy(governor::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+
+        held.close();
+        // A second close must not return the permit twice
+        held.close();
+        assertThat(gauge("datasource.governor.available")).isOne();
+        governor.getConnection().close();
+        assertThat(rejected()).isOne();
+    }
+
+    @Test
+    void callersBeyondTheWaitQueueAreRefusedAtOnce() throws Exception {
+        ConnectionGovernor patient = new ConnectionGovernor(pool, "patient", 1, 1, Duration.ofSeconds(10));
+        patient.bindTo(meterRegistry);
+        Connection held = patient.getConnection();
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return patient.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (meterRegistry.get("datasource.governor.waiting").tag("pool", "patient").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        long started = System.nanoTime();
+        assertThatThrownBy(patient::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many threads waiting");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+
+        held.close();
+        waiter.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void failedCheckoutReturnsThePermit() throws SQLException {
+        SQLException failure = new SQLException("pool exhausted");
+        when(pool.getConnection()).thenThrow(failure).thenAnswer(invocation -> mock(Connection.class));
+
+        assertThatThrownBy(governor::getConnection).isSameAs(failure);
+
+        governor.getConnection().close();
+        verify(pool, times(2)).getConnection();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("pool", "test").gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("datasource.governor.rejected").tag("pool", "test").counter().count();
+    }
+}
@@ -0,0 +1,145 @@
+package com.sneakerhead.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.dto.response.TaskResponse;
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.service.TaskService;
+import com.sneakerhead.backend.util.MergePatch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing-primary",
+        "datasource.replica.enabled=true",
+        "datasource.replica.pool.jdbc-url=jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.pool.username=sa",
+        "datasource.replica.pool.password=",
+        "datasource.replica.pool.driver-class-name=org.h2.Driver",
+        "datasource.replica.pool.read-only=true",
+        "datasource.replica.max-lag=1h",
+        "datasource.replica.local-sync.enabled=true",
+        // Only the tests sync and measure the lag
+        "datasource.replica.local-sync.interval=3600000",
+        "datasource.replica.heartbeat-interval=3600000"
+})
+class ReplicaRoutingTest extends IntegrationTestSupport {
+
+    @Autowired
+    private LocalReplicaSync replicaSync;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskService taskService;
+
+    private JsonNode alice;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        replicaSync.sync();
+        lagMonitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplica() throws Exception {
+        long taskId = createTask(alice, Map.of("title", "Not replicated yet", "projectId", projectId,
+                "status", "OPEN", "priority", "LOW")).get("id").asLong();
+
+        assertThat(countTasksOnReadPath(taskId)).isZero();
+
+        replicaSync.sync();
+
+        assertThat(countTasksOnReadPath(taskId)).isOne();
+    }
+
+    @Test
+    void writerReadsTheirOwnWrites() throws Exception {
+        long taskId = createTask(alice, Map.of("title", "Before", "projectId", projectId,
+                "status", "OPEN", "priority", "LOW")).get("id").asLong();
+        replicaSync.sync();
+
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}", taskId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(json(Map.of("title", "After")))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("After"));
+    }
+
+    @Test
+    void replicaReadsDoNotFillTheEntityCache() {
+        entityManagerFactory.getCache().evict(Project.class, projectId);
+
+        readOnly().executeWithoutResult(status -> entityManager.find(Project.class, projectId));
+        assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isFalse();
+
+        ReadRouting.onPrimary(() -> readOnly().execute(status -> entityManager.find(Project.class, projectId)));
+        assertThat(entityManagerFactory.getCache().contains(Project.class, projectId)).isTrue();
+    }
+
+    @Test
+    void searchKeepsHitsTheReplicaHasNotSeenYet() throws Exception {
+        long taskId = createTask(alice, Map.of("title", "Quokka migration", "projectId", projectId,
+                "status", "OPEN", "priority", "LOW")).get("id").asLong();
+
+        assertThat(searchIds("quokka")).isEmpty();
+
+        replicaSync.sync();
+
+        assertThat(searchIds("quokka")).containsExactly(taskId);
+    }
+
+    private long countTasksOnReadPath(long taskId) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        return readOnly().execute(status ->
+                jdbc.queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ?", Long.class, taskId));
+    }
+
+    private List<Long> searchIds(String query) {
+        return taskService.searchTasks(query, null, null, 10).getItems().stream()
+                .map(TaskResponse::getId)
+                .toList();
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sneakerhead.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-threads",
+        "spring.threads.virtual.enabled=true",
+        "datasource.governor.max-concurrency=1",
+        "datasource.governor.acquire-timeout=200ms",
+        "threads.pinning-monitor.threshold=10ms"
+})
+class VirtualThreadModeTest extends IntegrationTestSupport {
+
+    private static final Object LOCK = new Object();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void asyncWorkRunsOnVirtualThreads() throws Exception {
+        assertThat(taskExecutor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void requestsBeyondTheGovernorFailWithServiceUnavailable() throws Exception {
+        JsonNode alice = register("alice");
+        long taskId = createTask(alice, Map.of("title", "Governed", "projectId", createProject(alice),
+                "status", "OPEN", "priority", "LOW")).get("id").asLong();
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId))).andExpect(status().isOk());
+        assertThat(dataSource).isInstanceOf(ConnectionGovernor.class);
+
+        // Takes the only permit
+        try (Connection held = dataSource.getConnection()) {
+            mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        }
+
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId))).andExpect(status().isOk());
+        assertThat(meterRegistry.get("datasource.governor.rejected").counter().count()).isPositive();
+    }
+
+    @Test
+    void pinningIsCountedByApplicationFrame() throws Exception {
+        Thread pinned = Thread.ofVirtual().start(VirtualThreadModeTest::sleepWhileHoldingAMonitor);
+        pinned.join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        double pins = 0;
+        while (pins == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            pins = meterRegistry.find("jvm.threads.virtual.pinned")
+                    .tag("origin", VirtualThreadModeTest.class.getName() + ".sleepWhileHoldingAMonitor")
+                    .counters().stream()
+                    .mapToDouble(Counter::count)
+                    .sum();
+        }
+        assertThat(pins).isPositive();
+    }
+
+    private static void sleepWhileHoldingAMonitor() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
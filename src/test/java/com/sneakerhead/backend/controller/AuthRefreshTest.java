@@ -0,0 +1,68 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthRefreshTest extends IntegrationTestSupport {
+
+    @Test
+    void refreshRotatesTheTokenPair() throws Exception {
+        JsonNode alice = register("alice");
+
+        JsonNode rotated = read(refresh(alice.get("refreshToken").asText())
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(rotated.get("refreshToken").asText()).isNotEqualTo(alice.get("refreshToken").asText());
+        assertThat(rotated.at("/user/id").asLong()).isEqualTo(alice.at("/user/id").asLong());
+        mockMvc.perform(as(rotated, get("/api/users/me")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(alice.at("/user/id").asLong()));
+        // The new refresh token rotates in turn
+        refresh(rotated.get("refreshToken").asText()).andExpect(status().isOk());
+    }
+
+    @Test
+    void rotatedRefreshTokenCannotBeReused() throws Exception {
+        JsonNode alice = register("alice");
+        String refreshToken = alice.get("refreshToken").asText();
+        refresh(refreshToken).andExpect(status().isOk());
+
+        refresh(refreshToken)
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token has been revoked"));
+    }
+
+    @Test
+    void logoutRevokesTheRefreshToken() throws Exception {
+        JsonNode alice = register("alice");
+        String refreshToken = alice.get("refreshToken").asText();
+
+        mockMvc.perform(withJson(post("/api/auth/logout"), json(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isNoContent());
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void accessTokenIsNotARefreshToken() throws Exception {
+        JsonNode alice = register("alice");
+
+        refresh(alice.get("token").asText()).andExpect(status().isUnauthorized());
+        refresh("not-a-token").andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(withJson(post("/api/auth/refresh"), json(Map.of("refreshToken", refreshToken))));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BulkTaskTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private long projectId;
+    private JsonNode task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        task = createTask(alice, Map.of("title", "Existing", "projectId", projectId,
+                "status", "OPEN", "priority", "LOW"));
+    }
+
+    @Test
+    void failedOperationsDoNotAffectTheOthers() throws Exception {
+        long aliceId = alice.get("user").get("id").asLong();
+
+        JsonNode response = bulk(
+                Map.of("type", "CREATE", "task", Map.of("title", "Created", "projectId", projectId,
+                        "status", "OPEN", "priority", "HIGH")),
+                Map.of("type", "CREATE", "task", Map.of("projectId", projectId, "status", "OPEN", "priority", "HIGH")),
+                Map.of("type", "UPDATE", "taskId", Long.MAX_VALUE, "task", Map.of("title", "Nowhere")),
+                Map.of("type", "ASSIGN", "taskId", taskId(), "assigneeId", aliceId));
+
+        assertThat(response.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(response.get("failed").asInt()).isEqualTo(2);
+        JsonNode results = response.get("results");
+        assertThat(results.get(0).get("task").get("title").asText()).isEqualTo("Created");
+        assertThat(results.get(1).get("error").asText()).isEqualTo("Title is required");
+        assertThat(results.get(2).get("success").asBoolean()).isFalse();
+        assertThat(results.get(3).get("task").get("assignee").get("id").asLong()).isEqualTo(aliceId);
+    }
+
+    @Test
+    void updateOnlyValidatesTheFieldsItSets() throws Exception {
+        JsonNode response = bulk(
+                Map.of("type", "UPDATE", "taskId", taskId(), "task", Map.of("status", "IN_PROGRESS")),
+                Map.of("type", "UPDATE", "taskId", taskId(), "task", Map.of("title", "  ")));
+
+        JsonNode results = response.get("results");
+        assertThat(results.get(0).get("task").get("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(results.get(1).get("error").asText()).isEqualTo("Title is required");
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId())))
+                .andExpect(jsonPath("$.title").value("Existing"))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void operationsWithAStaleVersionFail() throws Exception {
+        long version = task.get("version").asLong();
+        bulk(Map.of("type", "UPDATE", "taskId", taskId(), "version", version, "task", Map.of("title", "First")));
+
+        JsonNode response = bulk(
+                Map.of("type", "UPDATE", "taskId", taskId(), "version", version, "task", Map.of("title", "Second")),
+                Map.of("type", "ASSIGN", "taskId", taskId(), "version", version,
+                        "assigneeId", alice.get("user").get("id").asLong()));
+
+        assertThat(response.get("failed").asInt()).isEqualTo(2);
+        assertThat(response.get("results").get(0).get("error").asText()).contains("has been modified");
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId())))
+                .andExpect(jsonPath("$.title").value("First"))
+                .andExpect(jsonPath("$.assignee").doesNotExist());
+    }
+
+    private long taskId() {
+        return task.get("id").asLong();
+    }
+
+    @SafeVarargs
+    private JsonNode bulk(Map<String, Object>... operations) throws Exception {
+        return read(mockMvc.perform(as(alice, withJson(post("/api/tasks/bulk"),
+                        json(Map.of("operations", List.of(operations))))))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+}
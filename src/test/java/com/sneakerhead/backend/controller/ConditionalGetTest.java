@@ -0,0 +1,134 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.util.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalGetTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private JsonNode bob;
+    private long projectId;
+    private long teamId;
+    private long taskId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        bob = register("bob");
+        projectId = createProject(alice);
+        teamId = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn())
+                .get("teamId").asLong();
+        taskId = createTask(alice, Map.of("title", "Conditional task", "projectId", projectId,
+                "assigneeId", bob.at("/user/id").asLong(), "status", "OPEN", "priority", "MEDIUM"))
+                .get("id").asLong();
+    }
+
+    @Test
+    void unchangedTaskIsNotModified() throws Exception {
+        String eTag = eTag("/api/tasks/{id}", taskId);
+
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void taskIsModifiedWhenItsProjectIsRenamed() throws Exception {
+        String eTag = eTag("/api/tasks/{id}", taskId);
+
+        mockMvc.perform(as(alice, patch("/api/projects/{id}", projectId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"name\":\"Renamed project\"}")))
+                .andExpect(status().isOk());
+
+        JsonNode task = revalidate(alice, "/api/tasks/{id}", taskId, eTag);
+        assertThat(task.get("projectName").asText()).isEqualTo("Renamed project");
+    }
+
+    @Test
+    void taskIsModifiedWhenItsAssigneeIsRenamed() throws Exception {
+        String eTag = eTag("/api/tasks/{id}", taskId);
+
+        rename(bob, "Robert");
+
+        JsonNode task = revalidate(alice, "/api/tasks/{id}", taskId, eTag);
+        assertThat(task.at("/assignee/fullName").asText()).isEqualTo("Robert");
+    }
+
+    @Test
+    void projectIsModifiedWhenItsTeamIsRenamed() throws Exception {
+        String eTag = eTag("/api/projects/{id}", projectId);
+
+        mockMvc.perform(as(alice, withJson(put("/api/teams/{id}", teamId), json(Map.of("name", "Renamed team")))))
+                .andExpect(status().isOk());
+
+        JsonNode project = revalidate(alice, "/api/projects/{id}", projectId, eTag);
+        assertThat(project.get("teamName").asText()).isEqualTo("Renamed team");
+    }
+
+    @Test
+    void teamIsModifiedWhenItsOwnerIsRenamed() throws Exception {
+        String eTag = eTag("/api/teams/{id}", teamId);
+        mockMvc.perform(as(alice, get("/api/teams/{id}", teamId).header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified());
+
+        rename(alice, "Alicia");
+
+        JsonNode team = revalidate(alice, "/api/teams/{id}", teamId, eTag);
+        assertThat(team.at("/owner/fullName").asText()).isEqualTo("Alicia");
+    }
+
+    @Test
+    void teamListIsModifiedWhenAMemberIsRenamed() throws Exception {
+        MvcResult teams = mockMvc.perform(as(alice, get("/api/teams/my-teams"))).andExpect(status().isOk()).andReturn();
+        String eTag = teams.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(as(alice, get("/api/teams/my-teams").header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isNotModified());
+
+        rename(alice, "Alicia");
+
+        mockMvc.perform(as(alice, get("/api/teams/my-teams").header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isOk());
+    }
+
+    private String eTag(String uri, long id) throws Exception {
+        String eTag = mockMvc.perform(as(alice, get(uri, id)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        return eTag;
+    }
+
+    private JsonNode revalidate(JsonNode auth, String uri, long id, String eTag) throws Exception {
+        MvcResult result = mockMvc.perform(as(auth, get(uri, id).header(HttpHeaders.IF_NONE_MATCH, eTag)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String current = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(current).isNotEqualTo(eTag);
+        // The new tag is the one a lookup of the tag alone gives
+        mockMvc.perform(as(auth, get(uri, id).header(HttpHeaders.IF_NONE_MATCH, current)))
+                .andExpect(status().isNotModified());
+        return read(result);
+    }
+
+    private void rename(JsonNode auth, String fullName) throws Exception {
+        mockMvc.perform(as(auth, withJson(put("/api/users/me"), json(Map.of("fullName", fullName)))))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,119 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.util.MergePatch;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(OutputCaptureExtension.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:merge-patch",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=DEBUG"
+})
+class MergePatchTest extends IntegrationTestSupport {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private JsonNode alice;
+    private long projectId;
+    private JsonNode task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        alice = register("alice");
+        projectId = createProject(alice);
+        task = createTask(alice, Map.of("title", "Patched", "description", "A long description",
+                "projectId", projectId, "status", "OPEN", "priority", "LOW"));
+    }
+
+    @Test
+    void patchThatChangesNothingWritesNothing() throws Exception {
+        long updates = statistics.getEntityUpdateCount();
+
+        patchTask(Map.of("title", "Patched", "status", "OPEN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(task.get("version").asLong()))
+                .andExpect(jsonPath("$.updatedAt").value(task.get("updatedAt").asText()));
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(updates);
+    }
+
+    @Test
+    void updateWritesOnlyTheChangedColumns(CapturedOutput output) throws Exception {
+        int logged = output.getOut().length();
+
+        patchTask(Map.of("status", "IN_PROGRESS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.description").value("A long description"))
+                .andExpect(jsonPath("$.version").value(task.get("version").asLong() + 1));
+
+        String sql = output.getOut().substring(logged);
+        String update = sql.substring(sql.indexOf("update tasks set"));
+        update = update.substring(0, update.indexOf(" where "));
+        assertThat(update).contains("status=").doesNotContain("description", "title", "priority");
+    }
+
+    @Test
+    void nullClearsOptionalFieldsAndIsRejectedForRequiredOnes() throws Exception {
+        Map<String, Object> clear = new HashMap<>();
+        clear.put("description", null);
+        patchTask(clear)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.title").value("Patched"));
+
+        Map<String, Object> clearTitle = new HashMap<>();
+        clearTitle.put("title", null);
+        patchTask(clearTitle).andExpect(status().isBadRequest());
+        patchTask(Map.of("projectId", projectId)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void projectPatchThatChangesNothingKeepsTheVersion() throws Exception {
+        JsonNode project = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn());
+
+        mockMvc.perform(as(alice, patch("/api/projects/{id}", projectId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(json(Map.of("name", project.get("name").asText())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(project.get("version").asLong()));
+
+        mockMvc.perform(as(alice, patch("/api/projects/{id}", projectId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(json(Map.of("description", "Now described")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(project.get("name").asText()))
+                .andExpect(jsonPath("$.description").value("Now described"))
+                .andExpect(jsonPath("$.version").value(project.get("version").asLong() + 1));
+    }
+
+    private ResultActions patchTask(Map<String, Object> document) throws Exception {
+        return mockMvc.perform(as(alice, patch("/api/tasks/{id}", task.get("id").asLong())
+                .contentType(MergePatch.MEDIA_TYPE)
+                .content(json(document))));
+    }
+}
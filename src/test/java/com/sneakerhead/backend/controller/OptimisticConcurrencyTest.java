@@ -0,0 +1,120 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.util.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OptimisticConcurrencyTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private long projectId;
+    private long taskId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        taskId = createTask(alice, Map.of("title", "Versioned task", "projectId", projectId,
+                "status", "OPEN", "priority", "MEDIUM")).get("id").asLong();
+    }
+
+    @Test
+    void updateWithCurrentTagApplies() throws Exception {
+        String eTag = taskETag();
+
+        MvcResult updated = putTask(eTag, "Updated")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated"))
+                .andReturn();
+
+        assertThat(updated.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void updateWithStaleTagFailsWithCurrentTask() throws Exception {
+        String stale = taskETag();
+        String current = putTask(stale, "First").andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        putTask(stale, "Second")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, current))
+                .andExpect(jsonPath("$.title").value("First"));
+
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, stale)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":\"Third\"}")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, current));
+
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andExpect(jsonPath("$.title").value("First"));
+    }
+
+    @Test
+    void updateWithoutTagOrWithWildcardIsUnconditional() throws Exception {
+        putTask(taskETag(), "First").andExpect(status().isOk());
+
+        putTask(null, "Second").andExpect(status().isOk());
+        putTask("*", "Third")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Third"));
+    }
+
+    @Test
+    void malformedTagIsRejected() throws Exception {
+        putTask("\"not-a-version\"", "Updated").andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void projectUpdateWithStaleTagFails() throws Exception {
+        String stale = mockMvc.perform(as(alice, get("/api/projects/{id}", projectId)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        patchProject(stale, "First").andExpect(status().isOk());
+
+        patchProject(stale, "Second")
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.name").value("First"));
+    }
+
+    private String taskETag() throws Exception {
+        return mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private ResultActions putTask(String ifMatch, String title) throws Exception {
+        MockHttpServletRequestBuilder request = withJson(put("/api/tasks/{id}", taskId),
+                json(Map.of("title", title, "projectId", projectId, "status", "OPEN", "priority", "MEDIUM")));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(as(alice, request));
+    }
+
+    private ResultActions patchProject(String ifMatch, String name) throws Exception {
+        return mockMvc.perform(as(alice, patch("/api/projects/{id}", projectId)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MergePatch.MEDIA_TYPE)
+                .content(json(Map.of("name", name)))));
+    }
+}
@@ -0,0 +1,84 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskExportTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        for (String title : List.of("First", "Second, with a comma", "Third")) {
+            createTask(alice, Map.of("title", title, "projectId", projectId, "status", "OPEN", "priority", "LOW"));
+        }
+    }
+
+    @Test
+    void ndjsonExportHasOneTaskPerLine() throws Exception {
+        String body = export("NDJSON");
+
+        List<String> titles = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("title").asText();
+                    } catch (Exception ex) {
+                        throw new AssertionError(ex);
+                    }
+                })
+                .toList();
+        assertThat(titles).containsExactlyInAnyOrder("First", "Second, with a comma", "Third");
+    }
+
+    @Test
+    void csvExportHasAHeaderAndQuotedRows() throws Exception {
+        String body = export("CSV");
+
+        assertThat(body.lines()).hasSize(4);
+        assertThat(body.lines().findFirst()).hasValueSatisfying(header -> assertThat(header).startsWith("id,title,"));
+        assertThat(body).contains("\"Second, with a comma\"");
+    }
+
+    @Test
+    void exportRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("projectId", String.valueOf(projectId)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void exportRequiresExactlyOneScope() throws Exception {
+        mockMvc.perform(as(alice, get("/api/tasks/export")))
+                .andExpect(status().isBadRequest());
+    }
+
+    // The rows are written after the request returns, in an async dispatch that is authorized as well
+    private String export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(as(alice, get("/api/tasks/export")
+                        .param("projectId", String.valueOf(projectId))
+                        .param("format", format)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(format.equals("CSV") ? "text/csv" : "application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskFilterTest extends IntegrationTestSupport {
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private JsonNode alice;
+    private long projectId;
+    private long teamId;
+    private long bobId;
+    private long urgent;
+    private long started;
+    private long minor;
+    private long done;
+    private long bobs;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        JsonNode bob = register("bob");
+        bobId = bob.get("user").get("id").asLong();
+        projectId = createProject(alice);
+        teamId = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn())
+                .get("teamId").asLong();
+        mockMvc.perform(as(alice, post("/api/teams/{id}/members/{userId}", teamId, bobId)))
+                .andExpect(status().isOk());
+
+        urgent = createTask(alice, "Urgent", "OPEN", "HIGH", bobId, now.plusDays(1));
+        started = createTask(alice, "Started", "IN_PROGRESS", "HIGH", null, now.plusDays(5));
+        minor = createTask(alice, "Minor", "OPEN", "LOW", bobId, null);
+        done = createTask(alice, "Done", "OPEN", "HIGH", null, null);
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/complete", done))).andExpect(status().isOk());
+        bobs = createTask(bob, "Bob's", "OPEN", "MEDIUM", null, null);
+    }
+
+    @Test
+    void statusAndPrioritySetsCombine() throws Exception {
+        assertThat(filter(Map.of("projectId", projectId, "statuses", "OPEN,IN_PROGRESS", "priorities", "HIGH")))
+                .containsExactly(started, urgent);
+    }
+
+    @Test
+    void assigneeAndCreatorFilterWithinAProject() throws Exception {
+        assertThat(filter(Map.of("projectId", projectId, "assigneeId", bobId))).containsExactly(minor, urgent);
+        assertThat(filter(Map.of("projectId", projectId, "creatorId", bobId))).containsExactly(bobs);
+    }
+
+    @Test
+    void teamFilterCoversItsProjects() throws Exception {
+        assertThat(filter(Map.of("teamId", teamId))).containsExactly(bobs, done, minor, started, urgent);
+        assertThat(filter(Map.of("teamId", teamId, "statuses", "COMPLETED"))).containsExactly(done);
+    }
+
+    @Test
+    void dateRangesFilter() throws Exception {
+        assertThat(filter(Map.of("projectId", projectId, "dueFrom", now, "dueTo", now.plusDays(2))))
+                .containsExactly(urgent);
+        assertThat(filter(Map.of("projectId", projectId, "completedFrom", now.minusHours(1))))
+                .containsExactly(done);
+    }
+
+    @Test
+    void invertedRangeIsRejected() throws Exception {
+        mockMvc.perform(as(alice, get("/api/tasks/filter")
+                        .param("dueFrom", now.plusDays(2).toString())
+                        .param("dueTo", now.toString())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createTask(JsonNode auth, String title, String status, String priority,
+                            Long assigneeId, LocalDateTime dueDate) throws Exception {
+        Map<String, Object> fields = new HashMap<>(Map.of("title", title, "projectId", projectId,
+                "status", status, "priority", priority));
+        if (assigneeId != null) {
+            fields.put("assigneeId", assigneeId);
+        }
+        if (dueDate != null) {
+            fields.put("dueDate", dueDate);
+        }
+        return createTask(auth, fields).get("id").asLong();
+    }
+
+    /**
+     * The ids of the tasks matching the filter, newest first.
+     */
+    private List<Long> filter(Map<String, Object> params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks/filter").param("size", "100");
+        params.forEach((name, value) -> request.param(name, String.valueOf(value)));
+        JsonNode page = read(mockMvc.perform(as(alice, request)).andExpect(status().isOk()).andReturn());
+        assertThat(page.get("hasMore").asBoolean()).isFalse();
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
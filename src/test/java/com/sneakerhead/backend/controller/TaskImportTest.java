@@ -0,0 +1,135 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-import-test",
+        "imports.max-file-size=4KB",
+        "imports.batch-size=2"
+})
+class TaskImportTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        for (String title : List.of("First", "Second, with a comma", "Third")) {
+            createTask(alice, Map.of("title", title, "projectId", projectId, "status", "OPEN", "priority", "LOW"));
+        }
+    }
+
+    @Test
+    void ndjsonBodyRoundTripsThroughExportAndImport() throws Exception {
+        String exported = export("NDJSON");
+
+        JsonNode job = read(mockMvc.perform(as(alice, post("/api/imports")
+                        .param("fileName", "tasks.ndjson")
+                        .contentType("application/x-ndjson")
+                        .content(exported)))
+                .andExpect(status().isAccepted())
+                .andReturn());
+
+        JsonNode finished = awaitJob(job.get("id").asLong());
+        assertThat(finished.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(finished.get("importedRows").asLong()).isEqualTo(3);
+        assertThat(finished.get("fileName").asText()).isEqualTo("tasks.ndjson");
+        assertThat(titles(export("NDJSON"))).containsExactlyInAnyOrder(
+                "First", "Second, with a comma", "Third", "First", "Second, with a comma", "Third");
+    }
+
+    @Test
+    void csvUploadRoundTripsThroughExportAndImport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "tasks.csv", "text/csv",
+                export("CSV").getBytes(StandardCharsets.UTF_8));
+
+        JsonNode job = read(mockMvc.perform(as(alice, multipart("/api/imports").file(file)))
+                .andExpect(status().isAccepted())
+                .andReturn());
+
+        JsonNode finished = awaitJob(job.get("id").asLong());
+        assertThat(finished.get("importedRows").asLong()).isEqualTo(3);
+        assertThat(export("NDJSON").lines()).hasSize(6);
+    }
+
+    @Test
+    void rejectedRowsAreReportedAndTheRestImported() throws Exception {
+        String body = json(Map.of("title", "Good", "projectId", projectId, "status", "OPEN", "priority", "LOW")) + "\n"
+                + json(Map.of("title", "Bad", "projectId", projectId, "status", "NOT_A_STATUS", "priority", "LOW")) + "\n";
+
+        JsonNode job = read(mockMvc.perform(as(alice, post("/api/imports")
+                        .contentType("application/x-ndjson")
+                        .content(body)))
+                .andExpect(status().isAccepted())
+                .andReturn());
+
+        JsonNode finished = awaitJob(job.get("id").asLong());
+        assertThat(finished.get("importedRows").asLong()).isEqualTo(1);
+        assertThat(finished.get("failedRows").asLong()).isEqualTo(1);
+        JsonNode errors = read(mockMvc.perform(as(alice, get("/api/imports/{id}/errors", job.get("id").asLong())))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertThat(errors).singleElement().satisfies(error -> assertThat(error.get("rowNumber").asLong()).isEqualTo(2));
+    }
+
+    @Test
+    void bodyOverTheImportLimitIsRefused() throws Exception {
+        mockMvc.perform(as(alice, post("/api/imports")
+                        .contentType("text/csv")
+                        .content("x".repeat(5 * 1024))))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private JsonNode awaitJob(long jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            JsonNode job = read(mockMvc.perform(as(alice, get("/api/imports/{id}", jobId)))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(as(alice, get("/api/tasks/export")
+                        .param("projectId", String.valueOf(projectId))
+                        .param("format", format)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private List<String> titles(String ndjson) throws Exception {
+        return objectMapper.readerFor(JsonNode.class).<JsonNode>readValues(ndjson).readAll().stream()
+                .map(task -> task.get("title").asText())
+                .toList();
+    }
+}
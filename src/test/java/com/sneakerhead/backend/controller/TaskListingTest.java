@@ -0,0 +1,110 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskListingTest extends IntegrationTestSupport {
+
+    private JsonNode alice;
+    private String prefix;
+    private List<Long> created;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        long projectId = createProject(alice);
+        // The listing covers every task, so this test's tasks are told apart by their titles
+        prefix = "list-" + UUID.randomUUID();
+        created = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            created.add(createTask(alice, Map.of("title", prefix + "-" + i, "projectId", projectId,
+                    "status", i % 2 == 0 ? "COMPLETED" : "OPEN", "priority", "LOW")).get("id").asLong());
+        }
+    }
+
+    @Test
+    void pagesThroughTasksNewestFirst() throws Exception {
+        List<Long> expected = new ArrayList<>(created);
+        Collections.reverse(expected);
+
+        assertThat(pageThrough(Map.of("size", "2"))).isEqualTo(expected);
+    }
+
+    @Test
+    void pagesThroughTasksByTitle() throws Exception {
+        assertThat(pageThrough(Map.of("size", "2", "sort", "TITLE", "direction", "ASC"))).isEqualTo(created);
+    }
+
+    @Test
+    void pagesThroughTasksOfAStatus() throws Exception {
+        assertThat(pageThrough(Map.of("size", "1", "status", "COMPLETED", "sort", "TITLE", "direction", "ASC")))
+                .containsExactly(created.get(1), created.get(3));
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        mockMvc.perform(as(alice, get("/api/tasks").param("size", "1000")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(lessThanOrEqualTo(100)));
+    }
+
+    @Test
+    void cursorOfAnotherSortOrderIsRejected() throws Exception {
+        JsonNode page = read(mockMvc.perform(as(alice, get("/api/tasks").param("size", "1")))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        mockMvc.perform(as(alice, get("/api/tasks")
+                        .param("sort", "TITLE")
+                        .param("cursor", page.get("next").asText())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(as(alice, get("/api/tasks").param("cursor", "not a cursor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Follows the "next" cursors to the last page and returns the ids of this test's tasks, in
+     * the order they were listed.
+     */
+    private List<Long> pageThrough(Map<String, String> params) throws Exception {
+        int size = Integer.parseInt(params.get("size"));
+        Set<Long> seen = new HashSet<>();
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/tasks");
+            params.forEach(request::param);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(as(alice, request)).andExpect(status().isOk()).andReturn());
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(size);
+            for (JsonNode item : page.get("items")) {
+                // A keyset page never repeats a row of an earlier page
+                assertThat(seen.add(item.get("id").asLong())).isTrue();
+                if (item.get("title").asText().startsWith(prefix)) {
+                    found.add(item.get("id").asLong());
+                }
+            }
+            cursor = page.get("hasMore").asBoolean() ? page.get("next").asText() : null;
+        } while (cursor != null);
+        return found;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sneakerhead.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskSearchTest extends IntegrationTestSupport {
+
+    @Test
+    void searchPagesThroughResultsByRelevance() throws Exception {
+        JsonNode alice = register("alice");
+        long projectId = createProject(alice);
+        // A term no other test uses, so only these tasks match
+        String term = "kw" + UUID.randomUUID().toString().replace("-", "");
+        List<Long> expected = new ArrayList<>();
+        // More occurrences in the title rank higher
+        for (int i = 5; i >= 1; i--) {
+            String title = (term + " ").repeat(i) + "report";
+            expected.add(createTask(alice, Map.of("title", title, "projectId", projectId,
+                    "status", "OPEN", "priority", "LOW")).get("id").asLong());
+        }
+
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        do {
+            // A prefix of the term, as typed
+            MockHttpServletRequestBuilder request = get("/api/tasks")
+                    .param("search", term.substring(0, 10))
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(as(alice, request)).andExpect(status().isOk()).andReturn());
+            assertThat(page.get("items").size()).isLessThanOrEqualTo(2);
+            page.get("items").forEach(item -> found.add(item.get("id").asLong()));
+            cursor = page.get("hasMore").asBoolean() ? page.get("next").asText() : null;
+        } while (cursor != null);
+
+        assertThat(found).isEqualTo(expected);
+    }
+}
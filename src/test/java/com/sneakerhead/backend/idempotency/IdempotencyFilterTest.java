@@ -0,0 +1,166 @@
+package com.sneakerhead.backend.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-test",
+        "idempotency.wait-timeout=200ms",
+        "idempotency.max-body-size=1KB"
+})
+class IdempotencyFilterTest extends IntegrationTestSupport {
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private IdempotencyFilter filter;
+
+    private JsonNode alice;
+    private String body;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        body = "{\"title\":\"Idempotent task\",\"projectId\":" + createProject(alice)
+                + ",\"status\":\"OPEN\",\"priority\":\"LOW\"}";
+    }
+
+    @Test
+    void retryIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MvcResult first = createTask(alice, key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+
+        MvcResult retry = createTask(alice, key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertThat(read(retry).get("id").asLong()).isEqualTo(read(first).get("id").asLong());
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+    }
+
+    @Test
+    void keysAreScopedToTheUser() throws Exception {
+        String key = UUID.randomUUID().toString();
+        long aliceTask = read(createTask(alice, key, body).andExpect(status().isCreated()).andReturn()).get("id").asLong();
+
+        JsonNode bob = register("bob");
+        String bobBody = "{\"title\":\"Idempotent task\",\"projectId\":" + createProject(bob)
+                + ",\"status\":\"OPEN\",\"priority\":\"LOW\"}";
+        MvcResult bobTask = createTask(bob, key, bobBody)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+
+        assertThat(read(bobTask).get("id").asLong()).isNotEqualTo(aliceTask);
+    }
+
+    @Test
+    void keyReusedForDifferentBodyIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        createTask(alice, key, body).andExpect(status().isCreated());
+
+        createTask(alice, key, body.replace("Idempotent task", "Another task"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void duplicateOfRequestStillRunningTimesOut() throws Exception {
+        String key = UUID.randomUUID().toString();
+        // Claimed as the filter would for a first request that has not finished yet
+        String storeKey = sha256(String.join("\n", alice.at("/user/username").asText(), "POST", "/api/tasks", key));
+        assertThat(store.claim(storeKey, sha256("\n" + body), Duration.ofMinutes(1))).isTrue();
+
+        createTask(alice, key, body).andExpect(status().isConflict());
+
+        store.release(storeKey);
+        createTask(alice, key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void bodyOverTheLimitIsRejectedUnread() throws Exception {
+        String large = body.replace("\"Idempotent task\"", "\"Idempotent task\",\"description\":\"" + "x".repeat(2048) + "\"");
+
+        createTask(alice, UUID.randomUUID().toString(), large).andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(as(alice, withJson(post("/api/tasks"), large))).andExpect(status().isCreated());
+    }
+
+    @Test
+    void bufferedBodyCanBeReadAsynchronously() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(IdempotencyFilter.HEADER, UUID.randomUUID().toString());
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            ServletInputStream input = servletRequest.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[16];
+                    while (input.isReady() && !input.isFinished()) {
+                        int read = input.read(buffer);
+                        if (read > 0) {
+                            received.write(buffer, 0, read);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable ex) {
+                    throw new AssertionError(ex);
+                }
+            });
+            ((HttpServletResponse) servletResponse).setStatus(HttpServletResponse.SC_ACCEPTED);
+        });
+
+        assertThat(allRead).isTrue();
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    private ResultActions createTask(JsonNode auth, String key, String content) throws Exception {
+        return mockMvc.perform(as(auth, withJson(post("/api/tasks"), content).header(IdempotencyFilter.HEADER, key)));
+    }
+
+    private static String sha256(String input) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.sneakerhead.backend.responsecache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(new ObjectMapper(), true, DataSize.ofMegabytes(1),
+            Duration.ofMinutes(5), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void hitIsServedWithoutLoading() {
+        signIn("alice", "ROLE_USER");
+        get(() -> "first");
+
+        signIn("bob", "ROLE_USER");
+
+        assertThat(get(() -> "second")).isEqualTo("\"first\"");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void hitIsOnlyServedToCallersWithTheSameAuthorities() {
+        signIn("admin", "ROLE_ADMIN");
+        get(() -> "for admins");
+
+        signIn("alice", "ROLE_USER");
+
+        assertThat(cache.contains("teams/1")).isFalse();
+        assertThat(get(() -> "for users")).isEqualTo("\"for users\"");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidationDropsTheEntriesOfEveryScope() {
+        signIn("admin", "ROLE_ADMIN");
+        get(() -> "for admins");
+        signIn("alice", "ROLE_USER");
+        get(() -> "for users");
+
+        cache.invalidate("team:1");
+
+        assertThat(cache.contains("teams/1")).isFalse();
+        signIn("admin", "ROLE_ADMIN");
+        assertThat(cache.contains("teams/1")).isFalse();
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsServedButNotCached() {
+        signIn("alice", "ROLE_USER");
+
+        String body = get(() -> {
+            cache.invalidate("team:1");
+            return "read before the change committed";
+        });
+
+        assertThat(body).isEqualTo("\"read before the change committed\"");
+        assertThat(cache.contains("teams/1")).isFalse();
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        signIn("alice", "ROLE_USER");
+
+        assertThatThrownBy(() -> get(() -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.contains("teams/1")).isFalse();
+    }
+
+    private String get(Supplier<String> loader) {
+        CachedJson json = cache.get("teams/1", () -> {
+            loads.incrementAndGet();
+            return loader.get();
+        }, value -> List.of("team:1"));
+        return new String(json.body(), StandardCharsets.UTF_8);
+    }
+
+    private static void signIn(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
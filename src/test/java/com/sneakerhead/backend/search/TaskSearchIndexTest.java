@@ -0,0 +1,134 @@
+package com.sneakerhead.backend.search;
+
+import com.sneakerhead.backend.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        ReflectionTestUtils.setField(index, "maxPrefixExpansions", 64);
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        index.put(1L, "Update documentation", "Mention the deployment checklist", Task.Status.OPEN);
+        index.put(2L, "Deployment checklist", "Write it down", Task.Status.OPEN);
+        index.put(3L, "Unrelated", "Nothing here", Task.Status.OPEN);
+
+        assertThat(ids(index.search("deployment ", null, null, null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+        index.put(1L, "Fix login bug", null, Task.Status.OPEN);
+        index.put(2L, "Fix signup bug", null, Task.Status.OPEN);
+        index.put(3L, "Fix payment bug", null, Task.Status.OPEN);
+        index.put(4L, "Fix payment timeout", null, Task.Status.OPEN);
+
+        // "login" is in one task, "bug" in three: the task with both ranks first
+        List<TaskSearchIndex.Hit> hits = index.search("login bug ", null, null, null, 10);
+
+        assertThat(ids(hits)).containsExactly(1L);
+        assertThat(ids(index.search("payment ", null, null, null, 10))).containsExactly(3L, 4L);
+        assertThat(index.search("login ", null, null, null, 10).get(0).getScore())
+                .isGreaterThan(index.search("fix ", null, null, null, 10).get(0).getScore());
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        index.put(1L, "Release notes", null, Task.Status.OPEN);
+        index.put(2L, "Release party", null, Task.Status.OPEN);
+
+        assertThat(ids(index.search("release notes ", null, null, null, 10))).containsExactly(1L);
+        assertThat(index.search("release budget ", null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void lastTermIsAPrefixWhileTyping() {
+        index.put(1L, "Deploy the service", null, Task.Status.OPEN);
+        index.put(2L, "Deployment pipeline", null, Task.Status.OPEN);
+        index.put(3L, "Service outage", null, Task.Status.OPEN);
+
+        assertThat(ids(index.search("deplo", null, null, null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("service deplo", null, null, null, 10))).containsExactly(1L);
+        // A finished term is matched exactly
+        assertThat(index.search("deplo ", null, null, null, 10)).isEmpty();
+        assertThat(ids(index.search("deploy ", null, null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void termsAreNormalized() {
+        index.put(1L, "Résumé review", null, Task.Status.OPEN);
+
+        assertThat(ids(index.search("RESUME", null, null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void statusFiltersHits() {
+        index.put(1L, "Write report", null, Task.Status.OPEN);
+        index.put(2L, "Write report", null, Task.Status.COMPLETED);
+
+        assertThat(ids(index.search("report", Task.Status.COMPLETED, null, null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void pagesContinueAfterTheLastHit() {
+        // Equal scores are ordered by id, so pages stay stable across ties
+        for (long id = 1; id <= 7; id++) {
+            index.put(id, id % 2 == 0 ? "Review review" : "Review", "Quarterly numbers", Task.Status.OPEN);
+        }
+        List<Long> all = ids(index.search("review", null, null, null, 10));
+        assertThat(all).containsExactly(2L, 4L, 6L, 1L, 3L, 5L, 7L);
+
+        List<Long> paged = new ArrayList<>();
+        List<TaskSearchIndex.Hit> page = index.search("review", null, null, null, 3);
+        while (!page.isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(3);
+            paged.addAll(ids(page));
+            TaskSearchIndex.Hit last = page.get(page.size() - 1);
+            page = index.search("review", null, last.getScore(), last.getTaskId(), 3);
+        }
+        assertThat(paged).isEqualTo(all);
+    }
+
+    @Test
+    void updatesReplaceAndRemoveDocuments() {
+        index.put(1L, "Draft proposal", null, Task.Status.OPEN);
+        index.put(1L, "Final proposal", null, Task.Status.OPEN);
+        index.put(2L, "Draft budget", null, Task.Status.OPEN);
+
+        assertThat(ids(index.search("draft ", null, null, null, 10))).containsExactly(2L);
+
+        index.remove(2L);
+        assertThat(index.search("draft ", null, null, null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildKeepsUpdatesMadeWhileLoading() {
+        index.put(1L, "Old task", null, Task.Status.OPEN);
+
+        TaskSearchIndex.Rebuild rebuild = index.startRebuild();
+        rebuild.add(2L, "Loaded task", null, Task.Status.OPEN);
+        index.put(3L, "Concurrent task", null, Task.Status.OPEN);
+        assertThat(ids(index.search("task ", null, null, null, 10))).containsExactlyInAnyOrder(1L, 3L);
+
+        rebuild.complete();
+        assertThat(ids(index.search("task ", null, null, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    private static List<Long> ids(List<TaskSearchIndex.Hit> hits) {
+        return hits.stream().map(TaskSearchIndex.Hit::getTaskId).toList();
+    }
+}
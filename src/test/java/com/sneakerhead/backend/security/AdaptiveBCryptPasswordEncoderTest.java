@@ -0,0 +1,35 @@
+package com.sneakerhead.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+    @Test
+    void weakerHashesAreUpgraded() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret12"))).isTrue();
+    }
+
+    @Test
+    void hashesAtOrAboveTheStrengthAreKept() {
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret12"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret12"))).isFalse();
+    }
+
+    @Test
+    void unrecognizedHashesAreLeftAlone() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+    }
+
+    @Test
+    void calibrationNeverGoesBelowTheMinimum() {
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrated(Duration.ofNanos(1), 4).getStrength()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sneakerhead.backend.security;
+
+import com.sneakerhead.backend.entity.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String OTHER_SECRET = "5A7234753778214125442A472D4B6150645367566B59703373367639792F423F";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 100, meterRegistry);
+    private final UserPrincipal alice = new UserPrincipal(1L, "alice", "hash", User.Role.USER, true, 0);
+
+    @Test
+    void validTokenIsVerifiedOnceAndThenServedFromTheCache() {
+        String token = provider.generateToken(alice);
+
+        Optional<Claims> first = provider.validate(token);
+        Optional<Claims> second = provider.validate(token);
+
+        assertThat(first).map(Claims::getSubject).contains("alice");
+        assertThat(second.orElseThrow()).isSameAs(first.orElseThrow());
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void forgedTamperedAndMalformedTokensAreRejected() {
+        String forged = new JwtTokenProvider(OTHER_SECRET, 60_000, 100, new SimpleMeterRegistry()).generateToken(alice);
+        String[] parts = provider.generateToken(alice).split("\\.");
+        String tampered = parts[0] + "." + provider.generateToken(
+                new UserPrincipal(2L, "mallory", "hash", User.Role.ADMIN, true, 0)).split("\\.")[1] + "." + parts[2];
+
+        assertThat(provider.validate(forged)).isEmpty();
+        assertThat(provider.validate(tampered)).isEmpty();
+        assertThat(provider.validate("not-a-token")).isEmpty();
+        assertThat(provider.extractUsername("not-a-token")).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1_000, 100, new SimpleMeterRegistry());
+
+        assertThat(expiring.validate(expiring.generateToken(alice))).isEmpty();
+    }
+
+    @Test
+    void cachedTokenStopsValidatingAtItsExpiry() throws InterruptedException {
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, 1_000, 100, new SimpleMeterRegistry());
+        String token = expiring.generateToken(alice);
+        assertThat(expiring.validate(token)).isPresent();
+
+        Thread.sleep(2_100);
+
+        assertThat(expiring.validate(token)).isEmpty();
+    }
+
+    @Test
+    void refreshTokenIsNotAnAccessToken() {
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 60_000L);
+        String refreshToken = provider.generateRefreshToken(alice);
+
+        assertThat(provider.validate(refreshToken)).isEmpty();
+        assertThat(provider.validateRefreshToken(refreshToken)).map(provider::userId).contains(1L);
+        assertThat(provider.validateRefreshToken(provider.generateToken(alice))).isEmpty();
+    }
+
+    @Test
+    void tokenIsValidForItsOwnUserOnly() {
+        String token = provider.generateToken(alice);
+
+        assertThat(provider.isTokenValid(token, alice)).isTrue();
+        assertThat(provider.isTokenValid(token, new UserPrincipal(2L, "bob", "hash", User.Role.USER, true, 0))).isFalse();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt-tokens").tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sneakerhead.backend.security;
+
+import com.sneakerhead.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void runsWorkOffTheCallingThread() throws Exception {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+        String thread = executor.submit(() -> Thread.currentThread().getName()).get();
+
+        assertThat(thread).startsWith("password-hashing-");
+    }
+
+    @Test
+    void rejectsRightAwayWhenTheQueueIsFull() {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5));
+        executor.submit(this::blockUntilReleased);
+        executor.submit(() -> "queued");
+
+        assertThatThrownBy(() -> executor.submit(() -> "overflow")).isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.counter("password.hashing.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsWorkThatWaitedTooLong() throws Exception {
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, Duration.ofMillis(100));
+        executor.submit(this::blockUntilReleased);
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+        Thread.sleep(300);
+
+        release.countDown();
+
+        assertThat(queued).failsWithin(Duration.ofSeconds(5))
+                .withThrowableThat()
+                .withCauseInstanceOf(ServiceBusyException.class);
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "blocked";
+    }
+}
@@ -0,0 +1,122 @@
+package com.sneakerhead.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stateless-token-test",
+        "jwt.stateless=true",
+        // Only the tests reload the token versions
+        "jwt.token-versions.refresh-interval=3600000"
+})
+class StatelessTokenTest extends IntegrationTestSupport {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenVersionTable tokenVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JsonNode alice;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+    }
+
+    @Test
+    void tokenCarriesTheIdentity() throws Exception {
+        JsonNode claims = claimsOf(alice);
+
+        assertThat(claims.get("uid").asLong()).isEqualTo(alice.at("/user/id").asLong());
+        assertThat(claims.get("role").asText()).isEqualTo("USER");
+        assertThat(claims.get("ver").asInt()).isZero();
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void deactivationRevokesOutstandingTokens() throws Exception {
+        JsonNode admin = admin();
+
+        mockMvc.perform(as(admin, put("/api/users/{id}/active", alice.at("/user/id").asLong())
+                        .param("active", "false")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void roleChangeRevokesTokensCarryingTheOldRole() throws Exception {
+        JsonNode admin = admin();
+
+        mockMvc.perform(as(admin, put("/api/users/{id}/role", alice.at("/user/id").asLong())
+                        .param("role", "MANAGER")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isForbidden());
+        JsonNode renewed = login(alice);
+        assertThat(claimsOf(renewed).get("role").asText()).isEqualTo("MANAGER");
+        mockMvc.perform(as(renewed, get("/api/users/me")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("MANAGER"));
+    }
+
+    @Test
+    void bumpsFromOtherInstancesApplyOnReload() throws Exception {
+        // Committed by another instance, so this one's table has not seen it
+        jdbcTemplate.update("UPDATE users SET token_version = token_version + 1 WHERE id = ?",
+                alice.at("/user/id").asLong());
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isOk());
+
+        tokenVersions.refresh();
+
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isForbidden());
+    }
+
+    private JsonNode admin() throws Exception {
+        JsonNode admin = register("admin");
+        userService.changeRole(admin.at("/user/id").asLong(), User.Role.ADMIN);
+        return login(admin);
+    }
+
+    private JsonNode login(JsonNode auth) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("usernameOrEmail", auth.at("/user/username").asText(), "password", "secret12"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return read(mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    private JsonNode claimsOf(JsonNode auth) throws Exception {
+        String payload = auth.get("token").asText().split("\\.")[1];
+        return objectMapper.readTree(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package com.sneakerhead.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserCacheTest extends IntegrationTestSupport {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JsonNode alice;
+    private JsonNode admin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        admin = register("admin");
+        // The admin's token stays valid: its principal is reloaded with the new role
+        userService.changeRole(userId(admin), User.Role.ADMIN);
+    }
+
+    @Test
+    void repeatedRequestsAreAuthenticatedFromTheCache() throws Exception {
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isOk());
+        double misses = gets("miss");
+        double hits = gets("hit");
+
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isOk());
+
+        assertThat(gets("miss")).isEqualTo(misses);
+        assertThat(gets("hit")).isGreaterThan(hits);
+    }
+
+    @Test
+    void roleChangeTakesEffectOnTheNextRequest() throws Exception {
+        mockMvc.perform(as(alice, put("/api/users/{id}/role", userId(admin)).param("role", "ADMIN")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(as(admin, put("/api/users/{id}/role", userId(alice)).param("role", "ADMIN")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, put("/api/users/{id}/role", userId(admin)).param("role", "ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deactivationTakesEffectOnTheNextRequest() throws Exception {
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isOk());
+
+        mockMvc.perform(as(admin, put("/api/users/{id}/active", userId(alice)).param("active", "false")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, get("/api/users/me"))).andExpect(status().isForbidden());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "users").tag("result", result).functionCounter().count();
+    }
+
+    private static long userId(JsonNode auth) {
+        return auth.at("/user/id").asLong();
+    }
+}
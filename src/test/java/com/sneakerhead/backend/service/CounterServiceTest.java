@@ -0,0 +1,131 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CounterServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JsonNode alice;
+    private long projectId;
+    private long teamId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        projectId = createProject(alice);
+        teamId = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn())
+                .get("teamId").asLong();
+    }
+
+    @Test
+    void taskWritesKeepProjectCountsByStatus() throws Exception {
+        long first = createTask("First", "OPEN");
+        long second = createTask("Second", "IN_PROGRESS");
+        createTask("Third", "OPEN");
+        expectTaskCounts(3, 2, 1, 0);
+
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/complete", first))).andExpect(status().isOk());
+        expectTaskCounts(3, 1, 1, 1);
+
+        mockMvc.perform(as(alice, delete("/api/tasks/{id}", second))).andExpect(status().isNoContent());
+        expectTaskCounts(2, 1, 0, 1);
+    }
+
+    @Test
+    void commentWritesKeepTheTaskCount() throws Exception {
+        long taskId = createTask("Discussed", "OPEN");
+        long firstComment = addComment(taskId);
+        addComment(taskId);
+        expectCommentsCount(taskId, 2);
+
+        mockMvc.perform(as(alice, delete("/api/tasks/{taskId}/comments/{commentId}", taskId, firstComment)))
+                .andExpect(status().isNoContent());
+        expectCommentsCount(taskId, 1);
+    }
+
+    @Test
+    void projectWritesKeepTheTeamCount() throws Exception {
+        long second = read(mockMvc.perform(as(alice, withJson(post("/api/projects"),
+                        json(Map.of("name", "Second project", "teamId", teamId)))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+        expectProjectsCount(2);
+
+        mockMvc.perform(as(alice, delete("/api/projects/{id}", second))).andExpect(status().isNoContent());
+        expectProjectsCount(1);
+    }
+
+    @Test
+    void repairRecomputesDriftedCounters() throws Exception {
+        long taskId = createTask("Drifted", "OPEN");
+        addComment(taskId);
+        // Writes that bypass the service layer
+        jdbcTemplate.update("UPDATE tasks SET comments_count = 7 WHERE id = ?", taskId);
+        jdbcTemplate.update("UPDATE projects SET tasks_count = 9, open_tasks_count = 0 WHERE id = ?", projectId);
+        jdbcTemplate.update("UPDATE teams SET projects_count = 0 WHERE id = ?", teamId);
+        entityManagerFactory.getCache().evictAll();
+
+        counterService.repairCounters();
+
+        expectCommentsCount(taskId, 1);
+        expectTaskCounts(1, 1, 0, 0);
+        expectProjectsCount(1);
+    }
+
+    private long createTask(String title, String status) throws Exception {
+        return createTask(alice, Map.of("title", title, "projectId", projectId,
+                "status", status, "priority", "LOW")).get("id").asLong();
+    }
+
+    private long addComment(long taskId) throws Exception {
+        return read(mockMvc.perform(as(alice, withJson(post("/api/tasks/{taskId}/comments", taskId),
+                        json(Map.of("content", "A comment")))))
+                .andExpect(status().isCreated())
+                .andReturn()).get("id").asLong();
+    }
+
+    private void expectTaskCounts(int total, int open, int inProgress, int completed) throws Exception {
+        mockMvc.perform(as(alice, get("/api/projects/{id}", projectId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasksCount").value(total))
+                .andExpect(jsonPath("$.openTasksCount").value(open))
+                .andExpect(jsonPath("$.inProgressTasksCount").value(inProgress))
+                .andExpect(jsonPath("$.completedTasksCount").value(completed))
+                .andExpect(jsonPath("$.cancelledTasksCount").value(0));
+    }
+
+    private void expectCommentsCount(long taskId, int count) throws Exception {
+        mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentsCount").value(count));
+    }
+
+    private void expectProjectsCount(int count) throws Exception {
+        mockMvc.perform(as(alice, get("/api/teams/{id}", teamId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectsCount").value(count));
+    }
+}
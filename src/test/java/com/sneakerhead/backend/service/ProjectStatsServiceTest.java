@@ -0,0 +1,77 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.entity.Project;
+import com.sneakerhead.backend.event.ProjectChangedEvent;
+import com.sneakerhead.backend.repository.ProjectRepository;
+import com.sneakerhead.backend.repository.TaskRepository;
+import com.sneakerhead.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProjectStatsServiceTest {
+
+    private static final Long PROJECT_ID = 1L;
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ReadCoalescer readCoalescer = mock(ReadCoalescer.class);
+    private ProjectStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        when(readCoalescer.read(anyString(), any())).thenAnswer(call -> call.<Supplier<?>>getArgument(1).get());
+        service = new ProjectStatsService(projectRepository, mock(TaskRepository.class), mock(UserRepository.class),
+                readCoalescer, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void statsAreCached() {
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project()));
+
+        service.getProjectStats(PROJECT_ID);
+        service.getProjectStats(PROJECT_ID);
+
+        verify(projectRepository, times(1)).findById(PROJECT_ID);
+    }
+
+    @Test
+    void changeDuringComputationIsNotLost() {
+        // The project changes after the computation read it, before its result is cached
+        when(projectRepository.findById(PROJECT_ID)).thenAnswer(call -> {
+            service.projectChanged(new ProjectChangedEvent(PROJECT_ID, null));
+            return Optional.of(project());
+        }).thenReturn(Optional.of(project()));
+
+        service.getProjectStats(PROJECT_ID);
+        service.getProjectStats(PROJECT_ID);
+        service.getProjectStats(PROJECT_ID);
+
+        verify(projectRepository, times(2)).findById(PROJECT_ID);
+    }
+
+    @Test
+    void changeDropsCachedStats() {
+        when(projectRepository.findById(PROJECT_ID)).thenReturn(Optional.of(project()));
+
+        service.getProjectStats(PROJECT_ID);
+        service.projectChanged(new ProjectChangedEvent(PROJECT_ID, null));
+        service.getProjectStats(PROJECT_ID);
+
+        verify(projectRepository, times(2)).findById(PROJECT_ID);
+    }
+
+    private static Project project() {
+        return Project.builder().id(PROJECT_ID).name("Project").build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.sneakerhead.backend.service;
+
+import com.sneakerhead.backend.config.WriteTrackingDataSource;
+import com.sneakerhead.backend.entity.User;
+import com.sneakerhead.backend.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadCoalescerTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final WriteClock writeClock = new WriteClock();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+    private final List<Thread> followerThreads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseLeader.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        ReadCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        Object shared = new Object();
+        CompletableFuture<Object> leader = startLeader(coalescer, () -> shared);
+
+        List<CompletableFuture<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(startFollower(coalescer));
+        }
+        awaitFollowersWaiting();
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(shared);
+        for (CompletableFuture<Object> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(shared);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(outcome("executed")).isEqualTo(1);
+        assertThat(outcome("joined")).isEqualTo(5);
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        ReadCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        IllegalStateException failure = new IllegalStateException("project not found");
+        CompletableFuture<Object> leader = startLeader(coalescer, () -> {
+            throw failure;
+        });
+        CompletableFuture<Object> follower = startFollower(coalescer);
+        awaitFollowersWaiting();
+        releaseLeader.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThat(loads).hasValue(1);
+
+        // A failed load is not remembered
+        assertThat(coalescer.read("project:1", this::load)).isEqualTo("loaded");
+    }
+
+    @Test
+    void followerLoadsOnItsOwnAfterTheWaitTimeout() throws Exception {
+        ReadCoalescer coalescer = coalescer(Duration.ofMillis(100));
+        startLeader(coalescer, Object::new);
+
+        assertThat(coalescer.read("project:1", this::load)).isEqualTo("loaded");
+
+        assertThat(outcome("timed_out")).isEqualTo(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void writerDoesNotJoinALoadThatBeganBeforeTheirWrite() throws Exception {
+        ReadCoalescer coalescer = coalescer(Duration.ofSeconds(5));
+        startLeader(coalescer, Object::new);
+        UserPrincipal writer = new UserPrincipal(7L, "writer", null, User.Role.USER, true, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(writer, null, writer.getAuthorities()));
+        TransactionExecution write = mock(TransactionExecution.class);
+        writeClock.afterCommit(write, null);
+
+        assertThat(coalescer.read("project:1", this::load)).isEqualTo("loaded");
+
+        assertThat(outcome("joined")).isZero();
+        assertThat(loads).hasValue(2);
+    }
+
+    private ReadCoalescer coalescer(Duration waitTimeout) {
+        return new ReadCoalescer(transactionManager, writeClock,
+                new StaticListableBeanFactory().getBeanProvider(WriteTrackingDataSource.class),
+                true, waitTimeout, meterRegistry);
+    }
+
+    // Loads the key until released, so that other callers arrive while it is in flight
+    private CompletableFuture<Object> startLeader(ReadCoalescer coalescer, Supplier<Object> result) throws InterruptedException {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                leader.complete(coalescer.read("project:1", () -> {
+                    loads.incrementAndGet();
+                    leaderStarted.countDown();
+                    try {
+                        releaseLeader.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return result.get();
+                }));
+            } catch (RuntimeException ex) {
+                leader.completeExceptionally(ex);
+            }
+        });
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        return leader;
+    }
+
+    private CompletableFuture<Object> startFollower(ReadCoalescer coalescer) {
+        CompletableFuture<Object> follower = new CompletableFuture<>();
+        followerThreads.add(Thread.ofPlatform().start(() -> {
+            try {
+                follower.complete(coalescer.read("project:1", this::load));
+            } catch (RuntimeException ex) {
+                follower.completeExceptionally(ex);
+            }
+        }));
+        return follower;
+    }
+
+    private void awaitFollowersWaiting() throws InterruptedException {
+        for (Thread thread : followerThreads) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private Object load() {
+        loads.incrementAndGet();
+        return "loaded";
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("reads.coalescing").tag("outcome", outcome).counter().count();
+    }
+}
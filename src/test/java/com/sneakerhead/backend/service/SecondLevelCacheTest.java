@@ -0,0 +1,96 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.dto.response.ProjectResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SecondLevelCacheTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private JsonNode alice;
+    private long projectId;
+    private long teamId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        alice = register("alice");
+        projectId = createProject(alice);
+        teamId = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn())
+                .get("teamId").asLong();
+    }
+
+    @Test
+    void teamProjectListSurvivesCounterChanges() throws Exception {
+        projectService.getProjectsByTeam(teamId);
+
+        createTask(alice, Map.of("title", "Counted task", "projectId", projectId,
+                "status", "OPEN", "priority", "LOW"));
+        long queryHits = statistics.getQueryCacheHitCount();
+        List<ProjectResponse> projects = projectService.getProjectsByTeam(teamId);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+        assertThat(projects).singleElement().satisfies(project -> {
+            assertThat(project.getTasksCount()).isEqualTo(1);
+            assertThat(project.getOpenTasksCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void teamProjectListSeesNewProjects() throws Exception {
+        projectService.getProjectsByTeam(teamId);
+
+        mockMvc.perform(as(alice, withJson(post("/api/projects"),
+                        json(Map.of("name", "Second project", "teamId", teamId)))))
+                .andExpect(status().isCreated());
+
+        assertThat(projectService.getProjectsByTeam(teamId)).hasSize(2);
+    }
+
+    @Test
+    void myTeamsShowCurrentProjectCounts() throws Exception {
+        mockMvc.perform(as(alice, get("/api/teams/my-teams"))).andExpect(status().isOk());
+
+        mockMvc.perform(as(alice, withJson(post("/api/projects"),
+                        json(Map.of("name", "Second project", "teamId", teamId)))))
+                .andExpect(status().isCreated());
+        long queryHits = statistics.getQueryCacheHitCount();
+        JsonNode teams = read(mockMvc.perform(as(alice, get("/api/teams/my-teams")))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 1);
+        assertThat(teams).hasSize(1);
+        assertThat(teams.get(0).get("projectsCount").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void projectsAreReadFromTheEntityCache() throws Exception {
+        projectService.getProjectById(projectId);
+        long entityHits = statistics.getSecondLevelCacheHitCount();
+
+        projectService.getProjectById(projectId);
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(entityHits);
+    }
+}
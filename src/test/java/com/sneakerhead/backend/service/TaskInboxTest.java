@@ -0,0 +1,133 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskInboxTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TaskInboxService inboxService;
+
+    @Autowired
+    private TaskWriteBehindFlusher flusher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JsonNode alice;
+    private JsonNode bob;
+    private JsonNode carol;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        bob = register("bob");
+        carol = register("carol");
+        projectId = createProject(alice);
+        long teamId = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn())
+                .get("teamId").asLong();
+        for (JsonNode member : List.of(bob, carol)) {
+            mockMvc.perform(as(alice, post("/api/teams/{id}/members/{userId}", teamId, userId(member))))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void inboxFollowsCreationAndReassignment() throws Exception {
+        long taskId = createTask("Handed over", userId(bob));
+        assertThat(myTasks(alice, null)).containsExactly(taskId);
+        assertThat(myTasks(bob, null)).containsExactly(taskId);
+
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/assign/{assigneeId}", taskId, userId(carol))))
+                .andExpect(status().isOk());
+        flusher.flush();
+
+        // The creator keeps the task whoever it is assigned to
+        assertThat(myTasks(alice, null)).containsExactly(taskId);
+        assertThat(myTasks(bob, null)).isEmpty();
+        assertThat(myTasks(carol, null)).containsExactly(taskId);
+    }
+
+    @Test
+    void statusFilterFollowsStatusChanges() throws Exception {
+        long open = createTask("Still open", userId(bob));
+        long finished = createTask("Finished", userId(bob));
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/complete", finished))).andExpect(status().isOk());
+
+        assertThat(myTasks(bob, "OPEN")).containsExactly(open);
+        assertThat(myTasks(bob, "COMPLETED")).containsExactly(finished);
+    }
+
+    @Test
+    void deletedTasksLeaveTheInbox() throws Exception {
+        long kept = createTask("Kept", userId(bob));
+        long deleted = createTask("Deleted", userId(bob));
+
+        mockMvc.perform(as(alice, delete("/api/tasks/{id}", deleted))).andExpect(status().isNoContent());
+
+        assertThat(myTasks(bob, null)).containsExactly(kept);
+    }
+
+    @Test
+    void backfillRebuildsAnEmptyInbox() throws Exception {
+        long assigned = createTask("Assigned", userId(bob));
+        long created = createTask("Unassigned", null);
+        jdbcTemplate.update("DELETE FROM task_inbox");
+        assertThat(myTasks(alice, null)).isEmpty();
+
+        inboxService.backfill();
+
+        assertThat(myTasks(alice, null)).containsExactly(created, assigned);
+        assertThat(myTasks(bob, null)).containsExactly(assigned);
+    }
+
+    private long createTask(String title, Long assigneeId) throws Exception {
+        Map<String, Object> fields = assigneeId == null
+                ? Map.of("title", title, "projectId", projectId, "status", "OPEN", "priority", "LOW")
+                : Map.of("title", title, "projectId", projectId, "status", "OPEN", "priority", "LOW",
+                        "assigneeId", assigneeId);
+        return createTask(alice, fields).get("id").asLong();
+    }
+
+    /**
+     * The ids of the user's tasks, newest first, read one at a time through the page cursors.
+     */
+    private List<Long> myTasks(JsonNode auth, String status) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/tasks/my-tasks").param("size", "1");
+            if (status != null) {
+                request.param("status", status);
+            }
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = read(mockMvc.perform(as(auth, request)).andExpect(status().isOk()).andReturn());
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("hasMore").asBoolean() ? page.get("next").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private static long userId(JsonNode auth) {
+        return auth.get("user").get("id").asLong();
+    }
+}
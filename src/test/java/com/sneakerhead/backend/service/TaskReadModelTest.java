@@ -0,0 +1,85 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.dto.request.TaskFilterRequest;
+import com.sneakerhead.backend.dto.response.TaskResponse;
+import com.sneakerhead.backend.repository.TaskSortKey;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskReadModelTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long projectId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        JsonNode alice = register("alice");
+        projectId = createProject(alice);
+        long aliceId = alice.get("user").get("id").asLong();
+        for (int i = 1; i <= 6; i++) {
+            long taskId = createTask(alice, Map.of("title", "Task " + i, "projectId", projectId,
+                    "assigneeId", aliceId, "status", "OPEN", "priority", "LOW")).get("id").asLong();
+            for (int c = 0; c < i % 3; c++) {
+                mockMvc.perform(as(alice, withJson(post("/api/tasks/{taskId}/comments", taskId),
+                                json(Map.of("content", "Comment " + c)))))
+                        .andExpect(status().isCreated());
+            }
+        }
+    }
+
+    @Test
+    void pageCostsTheSameStatementsWhateverItsSize() {
+        long smallPage = statementsToList(2);
+        long fullPage = statementsToList(6);
+
+        assertThat(fullPage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void pageCarriesAssociationsAndCounts() {
+        List<TaskResponse> tasks = list(6);
+
+        assertThat(tasks).hasSize(6).allSatisfy(task -> {
+            assertThat(task.getProjectName()).isEqualTo("Project");
+            assertThat(task.getCreator().getFullName()).isEqualTo("alice");
+            assertThat(task.getAssignee().getFullName()).isEqualTo("alice");
+            assertThat(task.getAttachmentsCount()).isZero();
+        });
+        // Newest first: tasks 6 down to 1 have i % 3 comments
+        assertThat(tasks).extracting(TaskResponse::getCommentsCount).containsExactly(0, 2, 1, 0, 2, 1);
+    }
+
+    private long statementsToList(int size) {
+        // From the database only, so lazily loaded associations would show up as statements
+        entityManagerFactory.getCache().evictAll();
+        long before = statistics.getPrepareStatementCount();
+        assertThat(list(size)).hasSize(size);
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private List<TaskResponse> list(int size) {
+        TaskFilterRequest filter = TaskFilterRequest.builder().projectId(projectId).build();
+        return taskService.filterTasks(filter, TaskSortKey.CREATED_AT, Sort.Direction.DESC, null, size).getItems();
+    }
+}
@@ -0,0 +1,163 @@
+package com.sneakerhead.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sneakerhead.backend.IntegrationTestSupport;
+import com.sneakerhead.backend.entity.Task;
+import com.sneakerhead.backend.util.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:write-behind-test",
+        "tasks.write-behind.enabled=true",
+        // Only the tests flush
+        "tasks.write-behind.window=3600000"
+})
+class TaskWriteBehindTest extends IntegrationTestSupport {
+
+    @Autowired
+    private TaskWriteBuffer buffer;
+
+    @SpyBean
+    private TaskWriteBehindFlusher flusher;
+
+    private JsonNode alice;
+    private JsonNode bob;
+    private JsonNode carol;
+    private long projectId;
+    private long taskId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        alice = register("alice");
+        bob = register("bob");
+        carol = register("carol");
+        projectId = createProject(alice);
+        taskId = createTask(alice, Map.of("title", "Write-behind task", "projectId", projectId,
+                "status", "OPEN", "priority", "HIGH")).get("id").asLong();
+    }
+
+    @Test
+    void bufferedAssignmentIsFlushed() throws Exception {
+        assign(bob);
+        assertThat(buffer.pendingWrites(taskId)).isEqualTo(1);
+
+        flusher.flush();
+
+        assertThat(buffer.pendingWrites(taskId)).isZero();
+        assertThat(task().at("/assignee/id").asLong()).isEqualTo(userId(bob));
+    }
+
+    @Test
+    void bufferedCompletionUpdatesProjectCounters() throws Exception {
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/complete", taskId))).andExpect(status().isOk());
+
+        flusher.flush();
+
+        assertThat(task().get("status").asText()).isEqualTo("COMPLETED");
+        JsonNode project = read(mockMvc.perform(as(alice, get("/api/projects/{id}", projectId))).andReturn());
+        assertThat(project.get("completedTasksCount").asInt()).isEqualTo(1);
+        assertThat(project.get("openTasksCount").asInt()).isZero();
+    }
+
+    @Test
+    void directWriteFoldsInPendingWrite() throws Exception {
+        assign(bob);
+
+        patchTask("{\"title\":\"Renamed\"}");
+
+        assertThat(buffer.pendingWrites(taskId)).isZero();
+        JsonNode task = task();
+        assertThat(task.get("title").asText()).isEqualTo("Renamed");
+        assertThat(task.at("/assignee/id").asLong()).isEqualTo(userId(bob));
+    }
+
+    @Test
+    void directWriteIsNotOverwrittenByFlushInProgress() throws Exception {
+        assign(bob);
+        // The flush has drained bob's assignment but not written it when carol is assigned directly
+        Map<Long, TaskWriteBuffer.PendingWrite> drained = buffer.drain();
+
+        patchTask("{\"assigneeId\":" + userId(carol) + "}");
+        flusher.flushBatch(new ArrayList<>(drained.entrySet()));
+
+        assertThat(task().at("/assignee/id").asLong()).isEqualTo(userId(carol));
+        assertThat(buffer.pendingWrites(taskId)).isZero();
+    }
+
+    @Test
+    void directWriteWithoutIfMatchIsRetriedWhenAFlushCommitsFirst() throws Exception {
+        assign(bob);
+        flushOnceBetweenReadAndWrite();
+
+        patchTask("{\"title\":\"Renamed\"}");
+
+        JsonNode task = task();
+        assertThat(task.get("title").asText()).isEqualTo("Renamed");
+        assertThat(task.at("/assignee/id").asLong()).isEqualTo(userId(bob));
+    }
+
+    @Test
+    void directWriteWithIfMatchFailsWhenAFlushCommitsFirst() throws Exception {
+        assign(bob);
+        String eTag = mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        flushOnceBetweenReadAndWrite();
+
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":\"Renamed\"}")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    // The next direct write reads the task, then a flush on another thread commits before it writes
+    private void flushOnceBetweenReadAndWrite() {
+        AtomicBoolean flushed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (flushed.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(flusher::flush).get(10, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(flusher).applyPending(any(Task.class));
+    }
+
+    private void assign(JsonNode assignee) throws Exception {
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}/assign/{assigneeId}", taskId, userId(assignee))))
+                .andExpect(status().isOk());
+    }
+
+    private void patchTask(String document) throws Exception {
+        mockMvc.perform(as(alice, patch("/api/tasks/{id}", taskId)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content(document)))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode task() throws Exception {
+        return read(mockMvc.perform(as(alice, get("/api/tasks/{id}", taskId)))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    private static long userId(JsonNode auth) {
+        return auth.at("/user/id").asLong();
+    }
+}